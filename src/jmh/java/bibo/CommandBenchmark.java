@@ -0,0 +1,98 @@
+package bibo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks end-to-end responses to user input, from parsing to persistence, per command type.
+ * Commands that change the task list are paired with their inverse, so the list keeps its size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CommandBenchmark {
+    private static final String[] DATA_FILES = { "tasks.txt", "tasks.bin", "tasks.txt.journal", "notes.txt" };
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"help", "list", "find", "due", "agenda", "todo", "mark", "note"})
+    private String command;
+
+    private Bibo bibo;
+    private TaskDataGenerator generator;
+    private int count = 0;
+
+    /**
+     * Starts Bibo with a generated task list of the given size.
+     */
+    @Setup
+    public void setup() throws IOException {
+        deleteDataFiles();
+
+        bibo = new Bibo();
+        generator = new TaskDataGenerator(TaskDataGenerator.DEFAULT_SEED);
+        for (int i = 0; i < size; i++) {
+            bibo.getResponse(generator.nextCommand());
+        }
+    }
+
+    /**
+     * Waits for pending writes and removes saved data.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        bibo.getResponse("bye");
+        deleteDataFiles();
+    }
+
+    private static void deleteDataFiles() throws IOException {
+        for (String fileName : DATA_FILES) {
+            Files.deleteIfExists(Paths.get("data", fileName));
+        }
+    }
+
+    @Benchmark
+    public String respond() {
+        count++;
+
+        switch (command) {
+        case "list":
+            return bibo.getResponse("list");
+        case "find":
+            return bibo.getResponse("find book or milk");
+        case "due":
+            return bibo.getResponse("due " + generator.nextDateTime());
+        case "agenda":
+            return bibo.getResponse("agenda /from " + generator.nextDateTime());
+        case "todo":
+            bibo.getResponse("todo benchmark task " + count);
+            return bibo.getResponse("deletetask " + (size + 1));
+        case "mark":
+            return bibo.getResponse((count % 2 == 0 ? "unmark " : "mark ") + (count / 2 % size + 1));
+        case "note":
+            bibo.getResponse("note benchmark note " + count);
+            return bibo.getResponse("deletenote 1");
+        default:
+            return bibo.getResponse(command);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package bibo;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bibo.exceptions.TaskFormatException;
+import bibo.task.Task;
+import bibo.utils.DateTimeUtil;
+import bibo.utils.FileParser;
+
+/**
+ * Benchmarks parsing of task data lines and date times.
+ * Inputs cycle through a fixed set of generated samples, so results do not depend on a single input.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParsingBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int BATCH_SIZE = 16384;
+
+    private String[] lines;
+    private String[] dateTimes;
+    private String[] batch;
+    private TaskFormatException[] errors;
+    private int index = 0;
+
+    /**
+     * Generates sample task data lines and date times.
+     */
+    @Setup
+    public void setup() {
+        TaskDataGenerator generator = new TaskDataGenerator(TaskDataGenerator.DEFAULT_SEED);
+        lines = generator.taskLines(SAMPLE_SIZE);
+        dateTimes = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            dateTimes[i] = generator.nextDateTime();
+        }
+
+        batch = generator.taskLines(BATCH_SIZE);
+        errors = new TaskFormatException[BATCH_SIZE];
+    }
+
+    private int next() {
+        index = (index + 1) & (SAMPLE_SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public String[] parseTaskData() throws TaskFormatException {
+        return FileParser.parseTaskData(lines[next()]);
+    }
+
+    @Benchmark
+    public Task parseTask() throws TaskFormatException {
+        return FileParser.parseTask(lines[next()]);
+    }
+
+    /**
+     * Decodes one load batch of lines in parallel, as done when loading the task list file.
+     */
+    @Benchmark
+    public Task[] parseTasks() {
+        return FileParser.parseTasks(batch, errors);
+    }
+
+    @Benchmark
+    public LocalDateTime[] parseDateTime() {
+        return DateTimeUtil.parseDateTime(dateTimes[next()]);
+    }
+}
@@ -0,0 +1,114 @@
+package bibo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bibo.exceptions.BiboException;
+import bibo.exceptions.TaskFormatException;
+import bibo.task.Task;
+import bibo.task.TaskList;
+import bibo.utils.FileParser;
+
+/**
+ * Benchmarks saving the task list to file and loading it back, in both snapshot formats.
+ * Files are written to the data directory under the working directory of the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StorageBenchmark {
+    private static final String[] DATA_FILES = { "tasks.txt", "tasks.bin", "tasks.txt.journal" };
+    private static final int LOAD_BATCH_SIZE = 16384;
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    @Param({"text", "binary"})
+    private String format;
+
+    private Storage storage;
+    private TaskList taskList;
+
+    /**
+     * Generates task list and saves it once, so there is saved data to load.
+     */
+    @Setup
+    public void setup() throws BiboException, IOException {
+        deleteDataFiles();
+
+        taskList = new TaskList();
+        for (Task task : new TaskDataGenerator(TaskDataGenerator.DEFAULT_SEED).tasks(size)) {
+            taskList.addTask(task);
+        }
+
+        storage = new Storage();
+        storage.setBinarySnapshot(format.equals("binary"));
+        storage.hasSavedData();
+        storage.saveTaskList(taskList);
+    }
+
+    /**
+     * Removes saved data, so the next trial starts from the format it is given.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        deleteDataFiles();
+    }
+
+    private static void deleteDataFiles() throws IOException {
+        for (String fileName : DATA_FILES) {
+            Files.deleteIfExists(Paths.get("data", fileName));
+        }
+    }
+
+    @Benchmark
+    public void save() throws BiboException {
+        storage.saveTaskList(taskList);
+    }
+
+    /**
+     * Loads saved task list the same way as on startup, decoding text in parallel batches.
+     */
+    @Benchmark
+    public TaskList load() throws BiboException {
+        TaskList loadedTaskList = new TaskList();
+
+        if (storage.hasBinarySnapshot()) {
+            storage.readBinaryTaskData(task -> addTask(loadedTaskList, task));
+        } else {
+            storage.readTaskData(LOAD_BATCH_SIZE, batch -> {
+                for (Task task : FileParser.parseTasks(batch, new TaskFormatException[batch.length])) {
+                    addTask(loadedTaskList, task);
+                }
+            });
+        }
+
+        return loadedTaskList;
+    }
+
+    private static void addTask(TaskList taskList, Task task) {
+        try {
+            taskList.addTask(task);
+        } catch (TaskFormatException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package bibo;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import bibo.Command.CommandType;
+import bibo.task.Deadline;
+import bibo.task.Event;
+import bibo.task.Task;
+import bibo.task.Todo;
+
+/**
+ * Generates reproducible synthetic task data for benchmarks.
+ * The same seed always yields the same tasks, so results can be compared across runs.
+ * Tasks are a mix of todos, deadlines and events, with descriptions drawn from a small vocabulary,
+ * so keyword searches match a realistic share of tasks.
+ */
+public class TaskDataGenerator {
+    /** Seed used by benchmarks unless stated otherwise. */
+    public static final long DEFAULT_SEED = 42;
+
+    private static final String[] WORDS = {
+        "read", "book", "buy", "milk", "return", "library", "write", "essay", "call", "mum",
+        "project", "meeting", "review", "code", "gym", "run", "clean", "room", "pay", "bills",
+        "plan", "trip", "cook", "dinner", "study", "exam", "fix", "bug", "email", "boss",
+    };
+    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HHmm");
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final Random random;
+    private int count = 0;
+
+    /**
+     * Constructs a generator.
+     *
+     * @param seed Seed of generated data.
+     */
+    public TaskDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates tasks, each with a unique description.
+     *
+     * @param size Number of tasks.
+     * @return Generated tasks.
+     */
+    public List<Task> tasks(int size) {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(nextTask());
+        }
+        return tasks;
+    }
+
+    /**
+     * Generates task data lines in the format of the task list file.
+     *
+     * @param size Number of lines.
+     * @return Generated lines.
+     */
+    public String[] taskLines(int size) {
+        return tasks(size).stream()
+                .map(Task::toFileString)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Generates user input adding a task, in the format "&lt;command&gt; &lt;arguments&gt;".
+     *
+     * @return Generated input.
+     */
+    public String nextCommand() {
+        Task task = nextTask();
+
+        if (task instanceof Deadline) {
+            return CommandType.DEADLINE.name().toLowerCase() + " " + task.getDescription()
+                    + " /by " + INPUT_FORMATTER.format(((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            return CommandType.EVENT.name().toLowerCase() + " " + task.getDescription()
+                    + " /from " + INPUT_FORMATTER.format(((Event) task).getStart())
+                    + " /to " + INPUT_FORMATTER.format(((Event) task).getEnd());
+        }
+
+        return CommandType.TODO.name().toLowerCase() + " " + task.getDescription();
+    }
+
+    /**
+     * Generates date time in the input format, within a year of the start of 2024.
+     *
+     * @return Generated date time.
+     */
+    public String nextDateTime() {
+        return INPUT_FORMATTER.format(nextTime());
+    }
+
+    private Task nextTask() {
+        String description = WORDS[random.nextInt(WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)] + " " + count++;
+
+        Task task;
+        switch (random.nextInt(3)) {
+        case 0:
+            task = new Deadline(description, nextTime());
+            break;
+        case 1:
+            LocalDateTime start = nextTime();
+            task = new Event(description, start, start.plusMinutes(30 + random.nextInt(48 * 60)));
+            break;
+        default:
+            task = new Todo(description);
+            break;
+        }
+
+        return random.nextInt(4) == 0 ? task.withStatus(true) : task;
+    }
+
+    private LocalDateTime nextTime() {
+        return START.plusMinutes(random.nextInt(365 * 24 * 60));
+    }
+}
@@ -0,0 +1,104 @@
+package bibo;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import bibo.Command.CommandType;
+import bibo.exceptions.BiboException;
+import bibo.task.Task;
+import bibo.task.TaskList;
+import bibo.utils.InputParser;
+
+/**
+ * Benchmarks task list operations on lists of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TaskListBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private CommandType[] types;
+    private String[] args;
+    private TaskList taskList;
+    private int count = 0;
+
+    /**
+     * Represents queries to search the task list with.
+     */
+    @State(Scope.Benchmark)
+    public static class Query {
+        @Param({"book", "book milk", "book or milk", "b*"})
+        private String query;
+    }
+
+    /**
+     * Generates task list and commands that add the same tasks.
+     */
+    @Setup
+    public void setup() throws BiboException {
+        TaskDataGenerator generator = new TaskDataGenerator(TaskDataGenerator.DEFAULT_SEED);
+        types = new CommandType[size];
+        args = new String[size];
+        taskList = new TaskList();
+
+        for (int i = 0; i < size; i++) {
+            String[] input = InputParser.parseInput(generator.nextCommand());
+            types[i] = CommandType.valueOf(input[0].toUpperCase());
+            args[i] = input[1];
+            taskList.addTask(types[i], args[i]);
+        }
+    }
+
+    /**
+     * Adds one task to a list of the given size, then deletes it again to keep the size fixed.
+     */
+    @Benchmark
+    public Task addTask() throws BiboException {
+        Task task = taskList.addTask(CommandType.TODO, "benchmark task " + count++);
+        taskList.changeTaskStatus(CommandType.DELETETASK, String.valueOf(size + 1));
+        return task;
+    }
+
+    /**
+     * Builds a task list of the given size from user input.
+     */
+    @Benchmark
+    public TaskList addTasks() throws BiboException {
+        TaskList newTaskList = new TaskList();
+        for (int i = 0; i < size; i++) {
+            newTaskList.addTask(types[i], args[i]);
+        }
+        return newTaskList;
+    }
+
+    @Benchmark
+    public String findTasks(Query query) {
+        return taskList.findTasks(query.query).toString();
+    }
+
+    @Benchmark
+    public String listAll() {
+        return taskList.toString();
+    }
+
+    @Benchmark
+    public String listPage() throws BiboException {
+        return taskList.toString(1, 100);
+    }
+}
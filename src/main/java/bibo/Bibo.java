@@ -1,154 +1,334 @@
 package bibo;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import bibo.Command.CommandType;
 import bibo.exceptions.BiboException;
 import bibo.exceptions.FileException;
-import bibo.notes.Notes;
-import bibo.task.Task;
-import bibo.task.TaskList;
-import bibo.utils.FileParser;
 import bibo.utils.InputParser;
+import bibo.utils.Metrics;
 
 /**
  * Represents a personal assistant that helps manage tasks.
+ * Tasks and notes are kept in workspaces, of which only the default one is loaded on startup.
+ * Commands run one at a time on a dedicated thread, in the order they are received.
+ * Reminders for tasks in the active workspace falling due run on the same thread, scheduled for the next
+ * due time only.
  */
 public class Bibo {
-    protected TaskList taskList;
-    protected Notes notes;
-    private Storage storage;
+    /** Command line flag for running commands from a script. */
+    public static final String BATCH_FLAG = "--batch";
+    /** Command line flag for reading interactive input from a file or named pipe. */
+    public static final String INPUT_FLAG = "--input";
+    private static final long DEFAULT_METRICS_INTERVAL = 60;
+
+    private Workspaces workspaces;
     private Ui ui;
-    private Command cmd;
+    private Metrics metrics;
+    private ScheduledExecutorService executor;
+    private CompletableFuture<Void> loading;
+    // reminders are given for tasks falling due after this time
+    private LocalDateTime remindedUntil = LocalDateTime.now();
+    private LocalDateTime reminderTime;
+    private ScheduledFuture<?> reminder;
+    private volatile Consumer<String> reminderListener;
 
     /**
-     * Initialises new Bibo instance and updates task list from storage.
+     * Initialises new Bibo instance and starts updating task list from storage.
+     * Commands received before the task list is loaded run after loading completes.
      *
      * @throws BiboException if an error occurs while updating task list.
      */
     public Bibo() {
         this.ui = new Ui();
-        this.taskList = new TaskList();
-        this.notes = new Notes();
-        this.storage = new Storage();
+        this.metrics = new Metrics();
+        this.workspaces = new Workspaces(ui, metrics);
+        this.reminderListener = ui::speak;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bibo-commands");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.loading = CompletableFuture.runAsync(() -> {
+            try {
+                workspaces.use(Workspace.DEFAULT_NAME);
+            } catch (BiboException e) {
+                System.out.println(e.getMessage());
+            }
+            scheduleReminder();
+        }, executor);
+        scheduleMetricsDump();
+    }
+
+    /**
+     * Schedules metrics to be written periodically to the file given by the bibo.metricsFile property, if any.
+     * The interval in seconds is given by the bibo.metricsInterval property.
+     */
+    private void scheduleMetricsDump() {
+        String metricsFile = System.getProperty("bibo.metricsFile");
+        if (metricsFile == null) {
+            return;
+        }
 
-        this.cmd = new Command(ui, storage);
-        loadTaskData();
+        Path path = Paths.get(metricsFile);
+        long interval = Math.max(1, Long.getLong("bibo.metricsInterval", DEFAULT_METRICS_INTERVAL));
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                metrics.dump(path);
+            } catch (IOException e) {
+                System.out.println(new FileException().getMessage());
+            }
+        }, interval, interval, TimeUnit.SECONDS);
     }
 
     /**
-     * Parses task data from storage and adds tasks to task list.
+     * Sets receiver of reminders for tasks that fall due.
+     * Reminders are delivered on the command thread.
      *
-     * @return Total number of tasks to be loaded.
-     * @throws BiboException if an error occurs while parsing task data.
+     * @param reminderListener Receiver of reminder messages.
      */
-    private void loadTaskData() {
-        String[] allTaskData = null;
+    public void setReminderListener(Consumer<String> reminderListener) {
+        this.reminderListener = reminderListener;
+    }
 
-        try {
-            allTaskData = storage.getTaskData();
-        } catch (FileException e) {
-            System.out.println(e.getMessage());
-        }
+    /**
+     * Executes main loop of Bibo.
+     * Reads user input and performs actions one line at a time until the user exits the application
+     * or input ends, so a session can run any number of commands.
+     * Format of input is expected to be "&lt;command&gt; &lt;arguments&gt;".
+     */
+    private void run() {
+        while (ui.isRunning) {
+            String input;
 
-        if (allTaskData == null) {
-            return;
-        }
+            try {
+                input = ui.getInput();
+            } catch (IOException e) {
+                ui.speak("Error reading input.");
+                break;
+            }
 
-        for (int i = 0; i < allTaskData.length; i++) {
-            String taskData = allTaskData[i];
-            addFileTask(taskData);
+            if (input == null) {
+                // input ended without "bye", so wait for changes to be saved before exiting
+                workspaces.getActive().getStorage().flush();
+                break;
+            }
+
+            if (!input.isBlank()) {
+                ui.speak(getResponse(input.trim()));
+            }
         }
+    }
+
+    /**
+     * Runs commands from a script, one per line, without interactive prompts.
+     * All changes are saved once, after the last command, and throughput is reported on standard error.
+     *
+     * @param path Path of script, or "-" to read from standard input.
+     */
+    void runBatch(String path) {
+        ui.setBatchMode(true);
+        long startTime = System.nanoTime();
 
-        setupFile(taskList.getTaskListSize(), allTaskData.length);
+        try (InputSource input = InputSource.open(path)) {
+            ui.setInput(input);
+            int commandCount = executor.submit(this::runCommands).get();
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            System.err.printf("Ran %d commands in %.3f s (%.0f commands/s).%n",
+                    commandCount, seconds, commandCount / Math.max(seconds, 1e-9));
+        } catch (IOException e) {
+            ui.speak("Error reading script: " + path);
+        } catch (InterruptedException | ExecutionException e) {
+            ui.speak("Error running script: " + (e.getCause() == null ? e : e.getCause()).getMessage());
+        }
     }
 
     /**
-     * Adds task to task list based on task data.
+     * Runs commands read from script as one batch. Only runs on the command thread.
+     * Stops early if a command closes Bibo.
      *
-     * @param taskData Task data to add.
-     * @throws BiboException if an error occurs while adding task.
+     * @return Number of commands run.
+     * @throws IOException if an error occurs while reading the script.
+     * @throws FileException if an error occurs while saving the task list.
      */
-    private void addFileTask(String taskData) {
+    private int runCommands() throws IOException, FileException {
+        int commandCount = 0;
+        workspaces.beginBatch();
+
         try {
-            String[] parsedTaskData = FileParser.parseTaskData(taskData);
-            cmd.setCommandType(parsedTaskData[0]);
-            Task task = taskList.addTask(cmd.getCommandType(), parsedTaskData[1]);
+            // input is closed once a command closes Bibo, so it must not be read again
+            while (ui.isRunning) {
+                String line = ui.getInput();
+                if (line == null) {
+                    break;
+                }
 
-            if (parsedTaskData[2].equals("true")) {
-                task.markAsDone();
+                if (!line.isBlank()) {
+                    ui.speak(respondInBatch(line.trim()));
+                    commandCount++;
+                }
             }
-        } catch (BiboException e) {
-            System.out.println(e.getMessage());
+        } finally {
+            workspaces.endBatch();
         }
+
+        return commandCount;
     }
 
     /**
-     * Checks for corrupted data and saves task list to file.
+     * Parses and executes single line of script. Only runs on the command thread.
+     * Unexpected errors are reported like any other response, so the rest of the script still runs.
      *
-     * @param loadedTasks Number of tasks loaded.
-     * @param totalTasks Total number of tasks.
-     * @throws BiboException if an error occurs while setting up file.
+     * @param input Line of script.
+     * @return Response from Bibo.
      */
-    private void setupFile(int loadedTasks, int totalTasks) {
+    private String respondInBatch(String input) {
         try {
-            storage.checkCorruptedData(loadedTasks, totalTasks);
-            storage.saveTaskList(taskList);
-            System.out.println("File setup complete.");
-        } catch (FileException e) {
-            System.out.println(e.getMessage());
+            return respond(input).getText();
+        } catch (RuntimeException e) {
+            return "Error running command: " + e.getMessage();
         }
+    }
 
-        System.out.println("Task list loaded successfully.");
+    /**
+     * Gets response from Bibo based on single user input, waiting for the command to run.
+     *
+     * @param input User input.
+     * @return Response from Bibo.
+     */
+    public String getResponse(String input) {
+        return getResponseAsync(input).join();
     }
 
     /**
-     * Executes main loop of Bibo.
-     * Continuously reads user input and performs actions until user exits the application.
-     * Format of input is expected to be "&lt;command&gt; &lt;arguments&gt;".
+     * Runs single user input on the command thread.
      *
-     * @throws BiboException if an error occurs while processing commands.
+     * @param input User input.
+     * @return Future completed with response from Bibo.
      */
-    private void run() {
-        try {
-            String input = ui.getInput();
-            String response = getResponse(input);
-            ui.speak(response);
-        } catch (IOException e) {
-            ui.speak("Error reading input.");
-        }
+    public CompletableFuture<String> getResponseAsync(String input) {
+        return respondAsync(input).thenApply(Response::getText);
+    }
 
-        if (ui.isRunning) {
-            run();
-        }
+    /**
+     * Runs single user input on the command thread, keeping what else the response offers,
+     * such as the command for the next page of a list.
+     *
+     * @param input User input.
+     * @return Future completed with response from Bibo.
+     */
+    public CompletableFuture<Response> respondAsync(String input) {
+        return CompletableFuture.supplyAsync(() -> respond(input), executor)
+                .exceptionally(e -> new Response("Error running command: "
+                        + (e.getCause() == null ? e : e.getCause()).getMessage()));
     }
 
     /**
-     * Gets response from Bibo based on single user input.
+     * Parses and executes single user input. Only runs on the command thread.
      *
-     * @param input
+     * @param input User input.
      * @return Response from Bibo.
      */
-    public String getResponse(String input) {
-        String response;
+    private Response respond(String input) {
+        Response response;
 
         try {
             String[] args = InputParser.parseInput(input);
-            cmd.setCommandType(args[0]);
-            response = cmd.getResponse(args[1], taskList, notes);
+            Workspace workspace = workspaces.getActive();
+            CommandType type = Command.parseCommandType(args[0]);
+            response = workspace.run(type, args[1]);
+
+            if (type.isMutating() || workspaces.getActive() != workspace) {
+                scheduleReminder();
+            }
         } catch (BiboException e) {
-            response = e.getMessage();
+            response = new Response(e.getMessage());
         }
 
         return response;
     }
 
+    /**
+     * Schedules a reminder for the next time a task falls due, replacing any reminder
+     * scheduled for a different time. Only runs on the command thread.
+     */
+    private void scheduleReminder() {
+        LocalDateTime nextDueTime = workspaces.getActive().getTaskList().getNextDueTime(remindedUntil);
+
+        if (Objects.equals(nextDueTime, reminderTime)) {
+            return;
+        }
+
+        if (reminder != null) {
+            reminder.cancel(false);
+        }
+
+        reminderTime = nextDueTime;
+        reminder = nextDueTime == null
+                ? null
+                : executor.schedule(this::remind,
+                        Math.max(0, Duration.between(LocalDateTime.now(), nextDueTime).toMillis()),
+                        TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reminds user of tasks that have fallen due since the last reminder
+     * and schedules the next reminder. Only runs on the command thread.
+     */
+    private void remind() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> dueTasks = workspaces.getActive().getTaskList().findDueTasks(remindedUntil, now);
+
+        remindedUntil = now;
+        reminderTime = null;
+        reminder = null;
+
+        if (!dueTasks.isEmpty()) {
+            reminderListener.accept("Reminder! These tasks are due:\n" + String.join("\n", dueTasks));
+        }
+
+        scheduleReminder();
+    }
+
     /**
      * Initialises program and starts Bibo.
+     * With "--batch PATH", runs commands from the script at PATH, or standard input if PATH is "-" or omitted.
+     * With "--input PATH", reads commands interactively from the file or named pipe at PATH.
      *
      * @param args Command line arguments.
      */
     public static void main(String[] args) {
         Bibo bibo = new Bibo();
+        bibo.loading.join();
+
+        if (args.length > 0 && args[0].equals(BATCH_FLAG)) {
+            bibo.runBatch(args.length > 1 ? args[1] : InputSource.STDIN_PATH);
+            return;
+        }
+
+        if (args.length > 1 && args[0].equals(INPUT_FLAG)) {
+            try {
+                bibo.ui.setInput(InputSource.open(args[1]));
+            } catch (IOException e) {
+                bibo.ui.speak("Error reading input: " + args[1]);
+                return;
+            }
+        }
+
         bibo.ui.open();
         bibo.run();
     }
@@ -1,218 +1,479 @@
 package bibo;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import bibo.exceptions.BiboException;
+import bibo.exceptions.FileException;
 import bibo.exceptions.ListIndexException;
 import bibo.exceptions.NoteFormatException;
 import bibo.exceptions.TaskFormatException;
 import bibo.exceptions.UnknownCommandException;
+import bibo.exceptions.WorkspaceException;
 import bibo.notes.Note;
 import bibo.notes.Notes;
 import bibo.task.Task;
 import bibo.task.TaskList;
+import bibo.utils.ListRenderer;
+import bibo.utils.Metrics;
+import bibo.utils.Metrics.Stage;
 
 /**
- * Represents a command.
+ * Represents a command dispatcher.
+ * It holds no state of its own beyond what it was constructed with, and every run of a command
+ * builds its response in a fresh context, so separate Bibo instances never share commands or responses.
  */
 public class Command {
-    private static Ui ui;
-    private static Storage storage;
-    private static CommandType cmd;
+    private final Ui ui;
+    private final Storage storage;
+    private final Metrics metrics;
+    // null if there is a single task list
+    private final Workspaces workspaces;
 
     /**
      * Constructs a command.
      *
-     * @param cmd     Command type.
      * @param ui      Ui object.
      * @param storage Storage object.
      */
     public Command(Ui ui, Storage storage) {
-        Command.ui = ui;
-        Command.storage = storage;
+        this(ui, storage, new Metrics());
     }
 
-    protected void setCommandType(String command) throws UnknownCommandException {
+    /**
+     * Constructs a command that records how long each stage of running it takes.
+     *
+     * @param ui      Ui object.
+     * @param storage Storage object.
+     * @param metrics Metrics to record to.
+     */
+    public Command(Ui ui, Storage storage, Metrics metrics) {
+        this(ui, storage, metrics, null);
+    }
+
+    /**
+     * Constructs a command for a task list in one of several workspaces, which commands can switch between.
+     *
+     * @param ui         Ui object.
+     * @param storage    Storage object of workspace.
+     * @param metrics    Metrics to record to.
+     * @param workspaces Workspaces to switch between.
+     */
+    public Command(Ui ui, Storage storage, Metrics metrics, Workspaces workspaces) {
+        this.ui = ui;
+        this.storage = storage;
+        this.metrics = metrics;
+        this.workspaces = workspaces;
+    }
+
+    /**
+     * Parses command type from the first word of user input.
+     *
+     * @param command Name of command, in any case.
+     * @return Command type.
+     * @throws UnknownCommandException if there is no command with the name.
+     */
+    protected static CommandType parseCommandType(String command) throws UnknownCommandException {
         try {
-            cmd = CommandType.valueOf(command.toUpperCase());
+            return CommandType.valueOf(command.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new UnknownCommandException();
         }
     }
 
-    protected CommandType getCommandType() {
-        return cmd;
+    /**
+     * Represents a single run of a command: what it runs on, and the response it builds.
+     * Messages can be any object, such as a page of a list, and are only converted to strings
+     * when the response is rendered.
+     */
+    static final class Context {
+        private final Ui ui;
+        private final Storage storage;
+        private final Metrics metrics;
+        private final Workspaces workspaces;
+        private final TaskList taskList;
+        private final Notes notes;
+        private final ArrayList<Object> messages = new ArrayList<>();
+        private String nextPageCommand;
+
+        private Context(Command command, TaskList taskList, Notes notes) {
+            this.ui = command.ui;
+            this.storage = command.storage;
+            this.metrics = command.metrics;
+            this.workspaces = command.workspaces;
+            this.taskList = taskList;
+            this.notes = notes;
+        }
+
+        /**
+         * Adds page of a list to response, which then prompts for the next page if there is one.
+         *
+         * @param page Page to add.
+         */
+        private void addPage(ListRenderer.Page page) {
+            messages.add(page);
+            nextPageCommand = page.getNextPageCommand();
+        }
+
+        private Response getResponse() {
+            StringBuilder message = new StringBuilder();
+            for (Object msg : messages) {
+                message.append(msg).append("\n");
+            }
+            return new Response(message.toString(), nextPageCommand);
+        }
     }
 
     /**
      * Represents list of valid commands.
      */
     public enum CommandType {
-        BYE {
+        BYE(false) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) {
-                messages.add("Bye. Hope to see you again soon!");
-                ui.close();
+            protected void execute(String args, Context context) {
+                context.messages.add("Bye. Hope to see you again soon!");
+                context.storage.flush();
+                context.ui.close();
             }
         },
-        HELP {
+        HELP(false) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) {
-                messages.add("Here are the list of commands:\n");
-
-                messages.add("1. bye");
-                messages.add("2. help");
+            protected void execute(String args, Context context) {
+                context.messages.add("Here are the list of commands:\n");
 
-                messages.add("3. list");
-                messages.add("4. todo DESCRIPTION");
-                messages.add("5. deadline DESCRIPTION /by DATE/TIME");
-                messages.add("6. event DESCRIPTION /from DATE/TIME /to DATE/TIME");
-                messages.add("7. mark INDEX");
-                messages.add("8. unmark INDEX");
-                messages.add("9. deletetask INDEX");
-                messages.add("10. find KEYWORD");
+                context.messages.add("1. bye");
+                context.messages.add("2. help");
+                context.messages.add("3. stats");
+                context.messages.add("4. use [WORKSPACE]");
 
-                messages.add("13. notes");
-                messages.add("11. note DESCRIPTION");
-                messages.add("12. deletenote INDEX");
+                context.messages.add("5. list [PAGE] [--page-size SIZE]");
+                context.messages.add("6. find KEYWORD [KEYWORD...] [or KEYWORD...]");
+                context.messages.add("7. export");
+                context.messages.add("8. todo DESCRIPTION");
+                context.messages.add("9. deadline DESCRIPTION /by DATE/TIME");
+                context.messages.add("10. event DESCRIPTION /from DATE/TIME /to DATE/TIME");
+                context.messages.add("11. mark INDEX[,INDEX...] | FIRST-LAST");
+                context.messages.add("12. unmark INDEX[,INDEX...] | FIRST-LAST");
+                context.messages.add("13. deletetask INDEX[,INDEX...] | FIRST-LAST | --done");
+                context.messages.add("14. due DATE/TIME");
+                context.messages.add("15. between DATE/TIME /to DATE/TIME");
+                context.messages.add("16. overlaps DATE/TIME /to DATE/TIME");
+                context.messages.add("17. agenda [COUNT] [/from DATE/TIME] (or upcoming ...)");
 
-                messages.add("\nMore details can be found in the user guide at:");
-                messages.add("https://iuhiah.github.io/ip/");
+                context.messages.add("18. notes [PAGE] [--page-size SIZE]");
+                context.messages.add("19. note DESCRIPTION");
+                context.messages.add("20. deletenote INDEX");
+                context.messages.add("\nMore details can be found in the user guide at:");
+                context.messages.add("https://iuhiah.github.io/ip/");
             }
         },
-        LIST {
+        LIST(false) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) {
-                messages.add(taskList.toString());
+            protected void execute(String args, Context context) throws ListIndexException {
+                int[] pageArgs = ListRenderer.parsePageArgs(args);
 
-                if (taskList.getTaskListSize() != 0) {
-                    messages.add(0, "Here are the tasks in your list:");
+                if (context.taskList.getTaskListSize() == 0) {
+                    // an empty list renders as a message saying so
+                    context.messages.add(context.taskList);
+                } else {
+                    context.messages.add("Here are the tasks in your list:");
+                    context.addPage(context.taskList.getPage(pageArgs[0], pageArgs[1]));
                 }
             }
         },
-        TODO {
+        TODO(true) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) throws TaskFormatException {
-                Task task = taskList.addTask(this, args);
-                messages.add("Got it. I've added this task:\n" + task);
-                addTaskListSize(taskList);
+            protected void execute(String args, Context context) throws TaskFormatException {
+                Task task = context.taskList.addTask(this, args);
+                context.storage.journal(this, task);
+                context.messages.add("Got it. I've added this task:\n" + task);
+                addTaskListSize(context);
             }
         },
-        DEADLINE {
+        DEADLINE(true) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) throws TaskFormatException {
-                Task task = taskList.addTask(this, args);
-                messages.add("Got it. I've added this task:\n" + task);
-                addTaskListSize(taskList);
+            protected void execute(String args, Context context) throws TaskFormatException {
+                Task task = context.taskList.addTask(this, args);
+                context.storage.journal(this, task);
+                context.messages.add("Got it. I've added this task:\n" + task);
+                addTaskListSize(context);
             }
         },
-        EVENT {
+        EVENT(true) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) throws TaskFormatException {
-                Task task = taskList.addTask(this, args);
-                messages.add("Got it. I've added this task:\n" + task);
-                addTaskListSize(taskList);
+            protected void execute(String args, Context context) throws TaskFormatException {
+                Task task = context.taskList.addTask(this, args);
+                context.storage.journal(this, task);
+                context.messages.add("Got it. I've added this task:\n" + task);
+                addTaskListSize(context);
             }
         },
-        MARK {
+        MARK(true) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes)
+            protected void execute(String args, Context context)
                     throws ListIndexException, UnknownCommandException {
-                Task task = taskList.changeTaskStatus(this, args);
-                messages.add("Nice! I've marked this task as done:\n" + task);
+                List<Task> tasks = context.taskList.changeTaskStatus(this, args);
+                addChangedTasks(context, tasks, "Nice! I've marked this task as done:",
+                        "Nice! I've marked these tasks as done:");
             }
         },
-        UNMARK {
+        UNMARK(true) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes)
+            protected void execute(String args, Context context)
                     throws ListIndexException, UnknownCommandException {
-                Task task = taskList.changeTaskStatus(this, args);
-                messages.add("Nice! I've marked this task as undone:\n" + task);
+                List<Task> tasks = context.taskList.changeTaskStatus(this, args);
+                addChangedTasks(context, tasks, "Nice! I've marked this task as undone:",
+                        "Nice! I've marked these tasks as undone:");
             }
         },
-        DELETETASK {
+        DELETETASK(true) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes)
+            protected void execute(String args, Context context)
                     throws ListIndexException, UnknownCommandException {
-                Task task = taskList.changeTaskStatus(this, args);
-                messages.add("Noted. I've removed this task:\n" + task);
-                addTaskListSize(taskList);
+                List<Task> tasks = context.taskList.changeTaskStatus(this, args);
+                addChangedTasks(context, tasks, "Noted. I've removed this task:",
+                        "Noted. I've removed these tasks:");
+                addTaskListSize(context);
+            }
+        },
+        FIND(false) {
+            @Override
+            protected void execute(String args, Context context) {
+                addMatchingTasks(context, context.taskList.findTasks(args));
             }
         },
-        FIND {
+        DUE(false) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) {
-                messages = taskList.findTasks(args);
+            protected void execute(String args, Context context) throws TaskFormatException {
+                addMatchingTasks(context, context.taskList.findDue(args));
+            }
+        },
+        BETWEEN(false) {
+            @Override
+            protected void execute(String args, Context context) throws TaskFormatException {
+                addMatchingTasks(context, context.taskList.findBetween(args));
+            }
+        },
+        OVERLAPS(false) {
+            @Override
+            protected void execute(String args, Context context) throws TaskFormatException {
+                addMatchingTasks(context, context.taskList.findOverlapping(args));
+            }
+        },
+        AGENDA(false) {
+            @Override
+            protected void execute(String args, Context context)
+                    throws TaskFormatException, ListIndexException {
+                ListRenderer.Lines upcoming = context.taskList.findUpcoming(args);
 
-                if (messages.isEmpty()) {
-                    messages.add("No matching tasks found.");
+                if (upcoming.isEmpty()) {
+                    context.messages.add("No upcoming tasks.");
                 } else {
-                    messages.add(0, "Here are the matching tasks in your list:");
+                    context.messages.add("Here are your upcoming tasks:");
+                    context.messages.add(upcoming);
                 }
             }
         },
-        NOTE {
+        UPCOMING(false) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) throws NoteFormatException {
-                Note note = notes.add(args);
-                messages.add("Got it. I've added this note:\n" + note);
+            protected void execute(String args, Context context) throws BiboException {
+                AGENDA.execute(args, context);
             }
         },
-        DELETENOTE {
+        NOTE(true) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) throws ListIndexException {
-                notes.delete(args);
-                messages.add("Noted. I've removed this note:\n" + args);
+            protected void execute(String args, Context context)
+                    throws NoteFormatException, FileException {
+                context.storage.loadNotes(context.notes);
+                Note note = context.notes.add(args);
+                context.storage.journalNote(this, args);
+                context.messages.add("Got it. I've added this note:\n" + note);
             }
         },
-        NOTES {
+        DELETENOTE(true) {
             @Override
-            protected void execute(String args, TaskList taskList, Notes notes) {
-                messages.add(notes.toString());
+            protected void execute(String args, Context context)
+                    throws ListIndexException, FileException {
+                context.storage.loadNotes(context.notes);
+                context.notes.delete(args);
+                context.storage.journalNote(this, args);
+                context.messages.add("Noted. I've removed this note:\n" + args);
+            }
+        },
+        EXPORT(false) {
+            @Override
+            protected void execute(String args, Context context) throws FileException {
+                String path = context.storage.exportTaskList(context.taskList);
+                context.messages.add("Exported " + context.taskList.getTaskListSize() + " tasks to:\n" + path);
+            }
+        },
+        NOTES(false) {
+            @Override
+            protected void execute(String args, Context context)
+                    throws ListIndexException, FileException {
+                context.storage.loadNotes(context.notes);
+                int[] pageArgs = ListRenderer.parsePageArgs(args);
+
+                if (context.notes.getNotesSize() == 0) {
+                    // an empty list renders as a message saying so
+                    context.messages.add(context.notes);
+                } else {
+                    context.messages.add("Here are the notes in your list:");
+                    context.addPage(context.notes.getPage(pageArgs[0], pageArgs[1]));
+                }
+            }
+        },
+        USE(false) {
+            @Override
+            protected void execute(String args, Context context) throws BiboException {
+                if (context.workspaces == null) {
+                    throw new WorkspaceException(WorkspaceException.ErrorType.UNSUPPORTED.toString());
+                }
 
-                if (notes.getNotesSize() != 0) {
-                    messages.add(0, "Here are the notes in your list:");
+                if (args.isBlank()) {
+                    context.messages.add("You are using workspace: " + context.workspaces.getActive().getName());
+                    context.messages.add("Workspaces in memory: "
+                            + String.join(", ", context.workspaces.getLoadedNames()));
+                    return;
                 }
+
+                Workspace workspace = context.workspaces.use(args);
+                int size = workspace.getTaskList().getTaskListSize();
+                context.messages.add("Now using workspace: " + workspace.getName());
+                context.messages.add("It has " + size + " task" + (size == 1 ? "" : "s") + ".");
+            }
+        },
+        STATS(false) {
+            @Override
+            protected void execute(String args, Context context) {
+                context.messages.add("Here is where the time went:");
+                context.messages.add(context.metrics);
             }
         };
 
-        private static ArrayList<String> messages = new ArrayList<String>();
+        private static final int CHANGED_TASKS_SHOWN = 10;
+
+        private final boolean isMutating;
+
+        CommandType(boolean isMutating) {
+            this.isMutating = isMutating;
+        }
+
+        /**
+         * Checks if command changes tasks or notes, so that they need to be persisted after it runs.
+         *
+         * @return True if command changes state.
+         */
+        public boolean isMutating() {
+            return isMutating;
+        }
 
         /**
          * Executes command.
          *
-         * @param args     Arguments for command.
-         * @param taskList Task list to execute command on.
+         * @param args    Arguments for command.
+         * @param context Run of command, with the task list and notes to execute command on.
          * @throws BiboException If an error occurs during execution.
          */
-        protected void execute(String args, TaskList taskList, Notes notes) throws BiboException {
+        protected void execute(String args, Context context) throws BiboException {
         }
 
-        protected void addTaskListSize(TaskList taskList) {
-            int size = taskList.getTaskListSize();
+        protected void addTaskListSize(Context context) {
+            int size = context.taskList.getTaskListSize();
 
-            messages.add("Now you have " + size + " task"
+            context.messages.add("Now you have " + size + " task"
                     + (size == 1 ? "" : "s") + " in the list.");
         }
 
-        protected String getResponse() {
-            StringBuilder message = new StringBuilder("");
-            for (String msg : messages) {
-                message.append(msg).append("\n");
+        /**
+         * Journals tasks changed by command and describes them.
+         * Long batches are summarised after the first few tasks.
+         *
+         * @param context Run of command.
+         * @param tasks Tasks changed.
+         * @param singleMessage Message for a single task.
+         * @param batchMessage Message for several tasks.
+         */
+        protected void addChangedTasks(Context context, List<Task> tasks, String singleMessage,
+                String batchMessage) {
+            for (Task task : tasks) {
+                context.storage.journal(this, task);
+            }
+
+            if (tasks.isEmpty()) {
+                context.messages.add("No matching tasks found.");
+                return;
+            }
+
+            StringBuilder message = new StringBuilder(tasks.size() == 1 ? singleMessage : batchMessage);
+            for (Task task : tasks.subList(0, Math.min(tasks.size(), CHANGED_TASKS_SHOWN))) {
+                message.append('\n').append(task);
+            }
+            if (tasks.size() > CHANGED_TASKS_SHOWN) {
+                message.append("\n...and ").append(tasks.size() - CHANGED_TASKS_SHOWN).append(" more.");
+            }
+            context.messages.add(message.toString());
+        }
+
+        protected void addMatchingTasks(Context context, ListRenderer.Lines matches) {
+            if (matches.isEmpty()) {
+                context.messages.add("No matching tasks found.");
+            } else {
+                context.messages.add("Here are the matching tasks in your list:");
+                context.messages.add(matches);
             }
-            messages.clear();
-            return message.toString();
         }
     }
 
-    protected String getResponse(String args, TaskList taskList, Notes notes) {
+    /**
+     * Runs command and renders response, recording how long each stage takes.
+     * Running a command only selects what to show, such as a page of tasks, which is turned into text
+     * when the response is rendered.
+     * Persisting only stages changes for the writer thread, so disk time is recorded by storage instead.
+     *
+     * @param cmd      Command type.
+     * @param args     Arguments for command.
+     * @param taskList Task list to run command on.
+     * @param notes    Notes to run command on.
+     * @return Response to user.
+     */
+    protected Response run(CommandType cmd, String args, TaskList taskList, Notes notes) {
+        Context context = new Context(this, taskList, notes);
+        long startTime = System.nanoTime();
+
         try {
-            cmd.execute(args, taskList, notes);
-            storage.saveTaskList(taskList);
+            cmd.execute(args, context);
         } catch (BiboException e) {
-            return e.getMessage();
+            metrics.recordError(cmd, System.nanoTime() - startTime);
+            return new Response(e.getMessage());
+        }
+
+        long stageTime = System.nanoTime();
+        metrics.recordCommand(cmd, Stage.EXECUTE, stageTime - startTime);
+
+        if (cmd.isMutating()) {
+            storage.commit(taskList);
+            storage.commitNotes(notes);
+            long persistedTime = System.nanoTime();
+            metrics.recordCommand(cmd, Stage.PERSIST, persistedTime - stageTime);
+            stageTime = persistedTime;
         }
 
-        return cmd.getResponse();
+        Response response = context.getResponse();
+        metrics.recordCommand(cmd, Stage.RENDER, System.nanoTime() - stageTime);
+        return response;
+    }
+
+    /**
+     * Runs command and gets text of response.
+     *
+     * @param cmd      Command type.
+     * @param args     Arguments for command.
+     * @param taskList Task list to run command on.
+     * @param notes    Notes to run command on.
+     * @return Text of response to user.
+     */
+    protected String getResponse(CommandType cmd, String args, TaskList taskList, Notes notes) {
+        return run(cmd, args, taskList, notes).getText();
     }
 }
@@ -0,0 +1,69 @@
+package bibo;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Represents a source of commands, read one line at a time.
+ * Any reader can be a source, such as standard input, a file, a named pipe or a socket stream.
+ */
+public class InputSource implements Closeable {
+    /** Path standing for standard input. */
+    public static final String STDIN_PATH = "-";
+
+    private final BufferedReader reader;
+
+    /**
+     * Constructs an input source that reads from a reader.
+     *
+     * @param reader Reader to read commands from.
+     */
+    public InputSource(Reader reader) {
+        this.reader = reader instanceof BufferedReader
+                ? (BufferedReader) reader
+                : new BufferedReader(reader);
+    }
+
+    /**
+     * Opens input source for standard input.
+     *
+     * @return Input source reading from standard input.
+     */
+    public static InputSource stdin() {
+        return new InputSource(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Opens input source for a path, which may be a file or a named pipe.
+     *
+     * @param path Path to read from, or "-" for standard input.
+     * @return Input source reading from path.
+     * @throws IOException if the path cannot be opened.
+     */
+    public static InputSource open(String path) throws IOException {
+        return path.equals(STDIN_PATH)
+                ? stdin()
+                : new InputSource(Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads next line, waiting until one is available.
+     *
+     * @return Next line, or null if the source has ended.
+     * @throws IOException if an error occurs while reading.
+     */
+    public String readLine() throws IOException {
+        return reader.readLine();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
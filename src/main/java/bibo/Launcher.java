@@ -9,10 +9,16 @@ import javafx.application.Application;
 public class Launcher {
     /**
      * Main method to launch the application.
+     * Commands given with "--batch" or "--input" run in the console instead of the GUI.
      *
      * @param args Command line arguments.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && (args[0].equals(Bibo.BATCH_FLAG) || args[0].equals(Bibo.INPUT_FLAG))) {
+            Bibo.main(args);
+            return;
+        }
+
         Application.launch(Main.class, args);
     }
 }
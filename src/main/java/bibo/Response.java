@@ -0,0 +1,38 @@
+package bibo;
+
+/**
+ * Represents the response of Bibo to a command.
+ * A response showing one page of a longer list also carries the command that shows the next page.
+ */
+public class Response {
+    private final String text;
+    private final String nextPageCommand;
+
+    /**
+     * Constructs a response that is not part of a longer list.
+     *
+     * @param text Text of response.
+     */
+    public Response(String text) {
+        this(text, null);
+    }
+
+    /**
+     * Constructs a response.
+     *
+     * @param text Text of response.
+     * @param nextPageCommand Command that shows the next page, or null if there is none.
+     */
+    public Response(String text, String nextPageCommand) {
+        this.text = text;
+        this.nextPageCommand = nextPageCommand;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getNextPageCommand() {
+        return nextPageCommand;
+    }
+}
@@ -1,30 +1,172 @@
 package bibo;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.DataInputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
+import bibo.Command.CommandType;
+import bibo.exceptions.BiboException;
 import bibo.exceptions.FileException;
+import bibo.exceptions.TaskFormatException;
+import bibo.notes.Note;
+import bibo.notes.Notes;
+import bibo.task.Task;
 import bibo.task.TaskList;
+import bibo.utils.BinarySnapshot;
+import bibo.utils.Metrics;
 
 /**
  * Represents a file handler that handles file operations.
+ * Writes happen on a background thread, so callers never wait for the disk.
+ * Changes committed while a write is pending are coalesced into the next write.
+ * In journaled mode, mutations are appended to a log next to the task list file
+ * and folded into a new snapshot of the task list once the log grows large.
+ * A binary snapshot of the task list is preferred over the text file whenever it exists.
  */
 public class Storage {
     // define file separator depending on OS
     private static final String FILE_SEPARATOR = System.getProperty("file.separator");
+    private static final String JOURNAL_EXTENSION = ".journal";
+    private static final long JOURNAL_COMPACTION_THRESHOLD = 64 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    // notes log entries allowed beyond twice the number of notes before the log is compacted
+    private static final int NOTES_COMPACTION_SLACK = 64;
 
     private String dataDir = "data";
     private String fileName = "tasks.txt";
+    private String binaryFileName = "tasks.bin";
+    private String notesFileName = "notes.txt";
+
+    private boolean isBinaryPreferred = false;
+    private Path loadedPath;
+    private Metrics metrics = new Metrics();
+
+    private boolean isJournaled;
+    private long savedVersion = -1;
+    // while a batch runs, changes are only saved when it ends
+    private boolean isBatching;
+    // entries recorded by the running command, kept only if the command changes the task list
+    private ArrayList<String> stagedEntries = new ArrayList<>();
+    // notes are loaded on first use, and their log is only ever appended to or compacted
+    private boolean isNotesLoaded;
+    private long savedNotesVersion;
+    private int notesLogLength;
+    private ArrayList<String> stagedNoteEntries = new ArrayList<>();
+
+    // state shared with the writer thread, guarded by this storage
+    private ArrayList<String> pendingEntries = new ArrayList<>();
+    // snapshot of the task list, encoded by the writer thread
+    private List<Task> pendingSnapshot;
+    private Path pendingSnapshotPath;
+    private ArrayList<String> pendingNoteEntries = new ArrayList<>();
+    private byte[] pendingNotesSnapshot;
+    private boolean isWriteScheduled = false;
+    private long journalSize = 0;
+    private ExecutorService writer;
+    // once closed, no writer thread is started again
+    private boolean isClosed = false;
+    // flushes writes on exit while the writer thread is running
+    private Thread shutdownHook;
+
+    /**
+     * Constructs a storage that rewrites the task list file on every save.
+     */
+    public Storage() {
+        this(false);
+    }
+
+    /**
+     * Constructs a storage.
+     *
+     * @param isJournaled Whether mutations are appended to a journal instead of rewriting the file.
+     */
+    public Storage(boolean isJournaled) {
+        this.isJournaled = isJournaled;
+    }
+
+    /**
+     * Constructs a storage that keeps its files in a given directory.
+     *
+     * @param isJournaled Whether mutations are appended to a journal instead of rewriting the file.
+     * @param dataDir Directory of data files, created when first needed.
+     */
+    public Storage(boolean isJournaled, String dataDir) {
+        this(isJournaled);
+        this.dataDir = dataDir;
+    }
 
     private String getFilePath() {
         return dataDir + FILE_SEPARATOR + fileName;
     }
 
+    private Path getBinaryFilePath() {
+        return Paths.get(dataDir + FILE_SEPARATOR + binaryFileName);
+    }
+
+    /**
+     * Gets path of the file that snapshots of the task list are written to.
+     * Binary snapshots are kept once they exist, so a stale binary snapshot is never preferred.
+     *
+     * @return Path of snapshot file.
+     */
+    private Path getSnapshotPath() {
+        return isBinaryPreferred || hasBinarySnapshot() ? getBinaryFilePath() : Paths.get(getFilePath());
+    }
+
+    /**
+     * Sets whether snapshots of the task list are written in the binary format.
+     *
+     * @param isBinaryPreferred Whether to write binary snapshots.
+     */
+    public void setBinarySnapshot(boolean isBinaryPreferred) {
+        this.isBinaryPreferred = isBinaryPreferred;
+    }
+
+    /**
+     * Sets metrics that durations of loads and writes are recorded to.
+     *
+     * @param metrics Metrics to record to.
+     */
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Checks if a binary snapshot of the task list exists.
+     *
+     * @return True if binary snapshot exists.
+     */
+    protected boolean hasBinarySnapshot() {
+        return Files.exists(getBinaryFilePath());
+    }
+
+    private Path getJournalPath() {
+        return Paths.get(getFilePath() + JOURNAL_EXTENSION);
+    }
+
+    private Path getNotesPath() {
+        return Paths.get(dataDir + FILE_SEPARATOR + notesFileName);
+    }
+
     /*
      * Checks if task list file exists. If not, creates one.
      *
@@ -36,7 +178,7 @@ public class Storage {
         if (!Files.exists(Paths.get(dataDir))) {
             System.out.println("Data directory not found. Creating new directory to store data...");
             try {
-                Files.createDirectory(Paths.get(dataDir));
+                Files.createDirectories(Paths.get(dataDir));
             } catch (IOException e) {
                 throw new FileException();
             }
@@ -58,26 +200,114 @@ public class Storage {
     }
 
     /**
-     * Gets task data from file.
+     * Streams task data from file in batches of lines.
+     * Lines are decoded as UTF-8 through a fixed size buffer, so memory use does not grow with file size.
+     * The batch array is reused between calls to the consumer, except for the last batch.
      *
-     * @param bibo Bibo instance to load task list into.
+     * @param batchSize Maximum number of lines in a batch.
+     * @param consumer Consumer of each batch of lines.
+     * @return Total number of lines read, or -1 if there was no saved data.
      * @throws FileException if unable to read from file.
      */
-    protected String[] getTaskData() throws FileException {
+    protected int readTaskData(int batchSize, Consumer<String[]> consumer) throws FileException {
         if (!hasSavedData()) {
-            return null;
+            return -1;
         }
 
         System.out.println("Saved data found. Loading data from file...");
-        String[] taskData = null;
+        loadedPath = Paths.get(getFilePath());
+        long startTime = System.nanoTime();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        String[] batch = new String[batchSize];
+        int batchLength = 0;
+        int totalLines = 0;
 
-        try (BufferedReader fileReader = new BufferedReader(new FileReader(getFilePath()))) {
-            taskData = fileReader.lines().toArray(String[]::new);
+        try (FileChannel channel = FileChannel.open(Paths.get(getFilePath()), StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+
+                    if (b != '\n') {
+                        if (lineLength == line.length) {
+                            line = Arrays.copyOf(line, line.length * 2);
+                        }
+                        line[lineLength++] = b;
+                        continue;
+                    }
+
+                    batch[batchLength++] = decodeLine(line, lineLength);
+                    lineLength = 0;
+                    totalLines++;
+
+                    if (batchLength == batchSize) {
+                        consumer.accept(batch);
+                        batchLength = 0;
+                    }
+                }
+
+                buffer.clear();
+            }
         } catch (IOException e) {
             throw new FileException();
         }
 
-        return taskData;
+        // last line may not end with a newline
+        if (lineLength > 0) {
+            batch[batchLength++] = decodeLine(line, lineLength);
+            totalLines++;
+        }
+
+        if (batchLength > 0) {
+            consumer.accept(Arrays.copyOf(batch, batchLength));
+        }
+
+        metrics.recordLoad(System.nanoTime() - startTime);
+        return totalLines;
+    }
+
+    /**
+     * Reads tasks from the binary snapshot.
+     * A snapshot in an unsupported format is counted as a single corrupted task.
+     *
+     * @param consumer Consumer of each task, in snapshot order.
+     * @return Total number of tasks recorded in snapshot.
+     * @throws FileException if unable to read from file.
+     */
+    protected int readBinaryTaskData(Consumer<Task> consumer) throws FileException {
+        System.out.println("Binary snapshot found. Loading data from file...");
+        loadedPath = getBinaryFilePath();
+        long startTime = System.nanoTime();
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(loadedPath), READ_BUFFER_SIZE))) {
+            int totalTasks = BinarySnapshot.decode(in, consumer);
+            metrics.recordLoad(System.nanoTime() - startTime);
+            return totalTasks;
+        } catch (TaskFormatException e) {
+            System.out.println(e.getMessage());
+            return 1;
+        } catch (IOException e) {
+            throw new FileException();
+        }
+    }
+
+    /**
+     * Decodes UTF-8 line, dropping a trailing carriage return.
+     *
+     * @param line Bytes of line.
+     * @param length Number of bytes in line.
+     * @return Decoded line.
+     */
+    private String decodeLine(byte[] line, int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
     }
 
     /**
@@ -92,12 +322,13 @@ public class Storage {
         System.out.println("Successfully loaded " + loadedTasks + " of " + totalTasks + " tasks.");
 
         if (loadedTasks < totalTasks) {
+            String corruptedPath = loadedPath == null ? getFilePath() : loadedPath.toString();
             System.out.println("Some data was corrupted, corrupted data file renamed to:");
-            System.out.println("\t" + getFilePath() + ".corrupted");
+            System.out.println("\t" + corruptedPath + ".corrupted");
 
             try {
-                File corruptedFile = new File(getFilePath());
-                corruptedFile.renameTo(new File(getFilePath() + ".corrupted"));
+                File corruptedFile = new File(corruptedPath);
+                corruptedFile.renameTo(new File(corruptedPath + ".corrupted"));
             } catch (NullPointerException | SecurityException e) {
                 throw new FileException();
             }
@@ -105,15 +336,422 @@ public class Storage {
     }
 
     /**
-     * Saves current task list to file.
+     * Gets journal entries that have not been folded into the task list file yet.
      *
-     * @param bibo Bibo instance to save task list from.
+     * @return Journal entries in the order they were written.
+     * @throws FileException if unable to read from journal.
+     */
+    protected String[] getJournalData() throws FileException {
+        if (!Files.exists(getJournalPath())) {
+            return new String[0];
+        }
+
+        try {
+            return Files.readAllLines(getJournalPath(), StandardCharsets.UTF_8).toArray(String[]::new);
+        } catch (IOException e) {
+            throw new FileException();
+        }
+    }
+
+    /**
+     * Records a task mutation to be written on the next commit.
+     * Entries identify tasks by content rather than index, so replaying an entry twice is harmless.
+     *
+     * @param cmd Command that mutated the task.
+     * @param task Task that was mutated.
+     */
+    protected synchronized void journal(CommandType cmd, Task task) {
+        if (isJournaled && !isBatching) {
+            stagedEntries.add(cmd + " " + task.toFileString());
+        }
+    }
+
+    /**
+     * Loads saved notes into the list of notes, unless they have already been loaded.
+     * The notes file is a log of note commands, which are replayed in order.
+     *
+     * @param notes List of notes to load into.
+     * @throws FileException if unable to read from file.
+     */
+    protected void loadNotes(Notes notes) throws FileException {
+        if (isNotesLoaded) {
+            return;
+        }
+
+        if (Files.exists(getNotesPath())) {
+            try (BufferedReader reader = Files.newBufferedReader(getNotesPath(), StandardCharsets.UTF_8)) {
+                for (String entry = reader.readLine(); entry != null; entry = reader.readLine()) {
+                    replayNoteEntry(notes, entry);
+                    notesLogLength++;
+                }
+            } catch (IOException e) {
+                throw new FileException();
+            }
+        }
+
+        synchronized (this) {
+            isNotesLoaded = true;
+            savedNotesVersion = notes.getVersion();
+        }
+    }
+
+    /**
+     * Applies a single notes log entry to the list of notes.
+     *
+     * @param notes List of notes to apply entry to.
+     * @param entry Log entry in the format "&lt;command&gt; &lt;arguments&gt;".
+     */
+    private void replayNoteEntry(Notes notes, String entry) {
+        String[] args = entry.split(" ", 2);
+
+        try {
+            if (args.length == 2 && args[0].equals(CommandType.NOTE.toString())) {
+                notes.add(args[1]);
+            } else if (args.length == 2 && args[0].equals(CommandType.DELETENOTE.toString())) {
+                notes.delete(args[1]);
+            } else {
+                System.out.println("Skipped unreadable note: " + entry);
+            }
+        } catch (BiboException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Records a note command to be written on the next notes commit.
+     *
+     * @param cmd Note command.
+     * @param args Arguments of note command.
+     */
+    protected synchronized void journalNote(CommandType cmd, String args) {
+        stagedNoteEntries.add(cmd + " " + args);
+    }
+
+    /**
+     * Schedules changes to the list of notes to be persisted, if it has changed since it was last committed.
+     * Recorded note commands are appended to the notes log, so adding a note does not rewrite
+     * other notes. The log is compacted into one entry per note once most of it is redundant.
+     * During a batch, recorded commands are kept until the batch ends.
+     *
+     * @param notes List of notes to persist.
+     */
+    protected synchronized void commitNotes(Notes notes) {
+        if (!isNotesLoaded || isBatching) {
+            return;
+        }
+
+        if (notes.getVersion() == savedNotesVersion) {
+            stagedNoteEntries.clear();
+            return;
+        }
+        savedNotesVersion = notes.getVersion();
+
+        if (notesLogLength + stagedNoteEntries.size() > 2 * notes.getNotesSize() + NOTES_COMPACTION_SLACK) {
+            StringBuilder snapshot = new StringBuilder();
+            for (Note note : notes.getNotes()) {
+                snapshot.append(CommandType.NOTE).append(' ').append(note.toFileString()).append('\n');
+            }
+
+            pendingNotesSnapshot = snapshot.toString().getBytes(StandardCharsets.UTF_8);
+            pendingNoteEntries.clear();
+            notesLogLength = notes.getNotesSize();
+        } else {
+            pendingNoteEntries.addAll(stagedNoteEntries);
+            notesLogLength += stagedNoteEntries.size();
+        }
+
+        stagedNoteEntries.clear();
+        scheduleWrite();
+    }
+
+    /**
+     * Schedules changes to the task list to be persisted, if it has changed since it was last committed.
+     * Otherwise, recorded mutations are dropped, since they changed nothing.
+     * In journaled mode, recorded mutations are appended to the journal, and the task list is
+     * snapshotted once the journal passes a size threshold.
+     * Otherwise, the whole task list is snapshotted.
+     * The snapshot is taken on the caller thread, so it is consistent with the journal, and encoded by the writer.
+     *
+     * @param taskList Task list to persist.
+     */
+    protected synchronized void commit(TaskList taskList) {
+        if (isBatching || taskList.getVersion() == savedVersion) {
+            stagedEntries.clear();
+            return;
+        }
+        savedVersion = taskList.getVersion();
+
+        for (String entry : stagedEntries) {
+            pendingEntries.add(entry);
+            journalSize += entry.length() + 1;
+        }
+        stagedEntries.clear();
+
+        if (!isJournaled || journalSize >= JOURNAL_COMPACTION_THRESHOLD) {
+            stageSnapshot(taskList);
+        }
+
+        scheduleWrite();
+    }
+
+    /**
+     * Starts grouping changes into one batch, which is saved as a whole when it ends.
+     * Until then, changes are neither journaled nor committed.
+     */
+    protected synchronized void beginBatch() {
+        isBatching = true;
+    }
+
+    /**
+     * Ends batch and saves task list and notes once each, if they have changed, waiting for the writes to finish.
+     *
+     * @param taskList Task list to save.
+     * @param notes List of notes to save.
+     * @throws FileException if an error occurs while saving the file.
+     */
+    protected void endBatch(TaskList taskList, Notes notes) throws FileException {
+        boolean isTaskListChanged;
+
+        synchronized (this) {
+            isBatching = false;
+            commitNotes(notes);
+            isTaskListChanged = taskList.getVersion() != savedVersion;
+        }
+
+        if (isTaskListChanged) {
+            saveTaskList(taskList);
+        } else {
+            flush();
+        }
+    }
+
+    /**
+     * Stages snapshot of task list to replace the task list file on the next write.
+     * Staged journal entries are dropped, since the snapshot already contains them.
+     * Taking the snapshot is constant time, and it is encoded later on the writer thread.
+     *
+     * @param taskList Task list to snapshot.
+     */
+    private synchronized void stageSnapshot(TaskList taskList) {
+        pendingSnapshot = taskList.getTasks();
+        pendingSnapshotPath = getSnapshotPath();
+        pendingEntries.clear();
+        stagedEntries.clear();
+        journalSize = 0;
+    }
+
+    /**
+     * Schedules staged changes to be written by the writer thread, unless a write is already scheduled.
+     */
+    private synchronized void scheduleWrite() {
+        if (isWriteScheduled || isClosed) {
+            return;
+        }
+        isWriteScheduled = true;
+
+        getWriter().execute(() -> {
+            try {
+                writePending();
+            } catch (IOException e) {
+                System.out.println(new FileException().getMessage());
+            }
+        });
+    }
+
+    private synchronized ExecutorService getWriter() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "bibo-storage");
+                thread.setDaemon(true);
+                return thread;
+            });
+            shutdownHook = new Thread(this::flush);
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        }
+        return writer;
+    }
+
+    /**
+     * Writes all staged changes. Only runs on the writer thread.
+     * A staged snapshot is written first and replaces the journal, then staged entries are appended.
+     * Notes are written the same way, to the notes log.
+     *
+     * @throws IOException if an error occurs while writing to file.
+     */
+    private void writePending() throws IOException {
+        long startTime = System.nanoTime();
+        List<Task> snapshot;
+        Path snapshotPath;
+        StringBuilder entries = new StringBuilder();
+        byte[] notesSnapshot;
+        StringBuilder noteEntries = new StringBuilder();
+
+        synchronized (this) {
+            snapshot = pendingSnapshot;
+            snapshotPath = pendingSnapshotPath;
+            for (String entry : pendingEntries) {
+                entries.append(entry).append("\n");
+            }
+            notesSnapshot = pendingNotesSnapshot;
+            for (String entry : pendingNoteEntries) {
+                noteEntries.append(entry).append("\n");
+            }
+
+            pendingSnapshot = null;
+            pendingSnapshotPath = null;
+            pendingEntries.clear();
+            pendingNotesSnapshot = null;
+            pendingNoteEntries.clear();
+            isWriteScheduled = false;
+        }
+
+        if (notesSnapshot != null) {
+            writeSnapshot(notesSnapshot, getNotesPath());
+        }
+
+        if (noteEntries.length() > 0) {
+            Files.write(getNotesPath(), noteEntries.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        if (snapshot != null) {
+            writeSnapshot(encodeSnapshot(snapshot, snapshotPath), snapshotPath);
+            // a crash before this point leaves the old journal, which replays harmlessly onto the snapshot
+            Files.deleteIfExists(getJournalPath());
+        }
+
+        if (entries.length() > 0) {
+            Files.write(getJournalPath(), entries.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        metrics.recordWrite(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Waits until all committed changes have been written.
+     * Must be called before the application exits.
+     */
+    public void flush() {
+        ExecutorService currentWriter;
+        synchronized (this) {
+            currentWriter = writer;
+        }
+
+        // nothing can be pending without a writer thread
+        if (currentWriter == null) {
+            return;
+        }
+
+        try {
+            currentWriter.submit(() -> { }).get();
+        } catch (InterruptedException | ExecutionException | RejectedExecutionException e) {
+            System.out.println(new FileException().getMessage());
+        }
+    }
+
+    /**
+     * Waits until all committed changes have been written, then stops the writer thread.
+     * Changes committed after the storage is closed are not written.
+     */
+    public void close() {
+        flush();
+
+        synchronized (this) {
+            isClosed = true;
+            if (writer == null) {
+                return;
+            }
+
+            writer.shutdown();
+            writer = null;
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // already exiting, and the hook has nothing left to flush
+            }
+            shutdownHook = null;
+        }
+    }
+
+    /**
+     * Encodes snapshot of task list in the format of the snapshot file.
+     *
+     * @param tasks Snapshot of task list to encode.
+     * @param path Path of snapshot file.
+     * @return Encoded task list.
+     */
+    private byte[] encodeSnapshot(List<Task> tasks, Path path) {
+        return path.equals(getBinaryFilePath())
+                ? BinarySnapshot.encode(tasks)
+                : TaskList.toFileString(tasks).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replaces file with snapshot through a temporary file.
+     *
+     * @param snapshot Encoded task list.
+     * @param path Path of file to replace.
+     * @throws IOException if an error occurs while writing the file.
+     */
+    private void writeSnapshot(byte[] snapshot, Path path) throws IOException {
+        Path tempPath = Paths.get(path + ".tmp");
+        Files.write(tempPath, snapshot);
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Saves current task list to file and clears the journal, waiting for the write to finish.
+     *
+     * @param taskList Task list to save.
      * @throws FileException if an error occurs while saving the file.
      */
     protected void saveTaskList(TaskList taskList) throws FileException {
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(getFilePath()))) {
-            writer.write(taskList.toFileString());
-        } catch (IOException e) {
+        synchronized (this) {
+            savedVersion = taskList.getVersion();
+            stageSnapshot(taskList);
+        }
+
+        awaitWrite(() -> {
+            writePending();
+            return null;
+        });
+    }
+
+    /**
+     * Exports task list to the text file, regardless of snapshot format, waiting for the write to finish.
+     *
+     * @param taskList Task list to export.
+     * @return Path of exported file.
+     * @throws FileException if an error occurs while writing the file.
+     */
+    protected String exportTaskList(TaskList taskList) throws FileException {
+        List<Task> snapshot = taskList.getTasks();
+        awaitWrite(() -> {
+            writeSnapshot(encodeSnapshot(snapshot, Paths.get(getFilePath())), Paths.get(getFilePath()));
+            return null;
+        });
+        return getFilePath();
+    }
+
+    /**
+     * Runs write on the writer thread, after all previously scheduled writes, and waits for it.
+     *
+     * @param write Write to run.
+     * @throws FileException if an error occurs during the write.
+     */
+    private void awaitWrite(Callable<Void> write) throws FileException {
+        ExecutorService currentWriter;
+        synchronized (this) {
+            if (isClosed) {
+                throw new FileException();
+            }
+            currentWriter = getWriter();
+        }
+
+        try {
+            currentWriter.submit(write).get();
+        } catch (InterruptedException | ExecutionException | RejectedExecutionException e) {
             throw new FileException();
         }
     }
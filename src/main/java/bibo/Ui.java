@@ -1,56 +1,93 @@
 package bibo;
 
 import java.io.IOException;
-import java.util.Scanner;
 
 /**
  * Represents a user interface that interacts with the user.
  */
 public class Ui {
     protected boolean isRunning;
-    private Scanner scanner;
+    private boolean isBatchMode;
+    private InputSource input;
 
     /**
-     * Initialises a new Ui instance.
+     * Initialises a new Ui instance that reads from standard input.
      */
     public Ui() {
-        this.scanner = new Scanner(System.in);
+        this(InputSource.stdin());
+    }
+
+    /**
+     * Initialises a new Ui instance.
+     *
+     * @param input Source of user input.
+     */
+    public Ui(InputSource input) {
+        this.input = input;
         this.isRunning = true;
     }
 
+    /**
+     * Sets source of user input.
+     *
+     * @param input Source of user input.
+     */
+    public void setInput(InputSource input) {
+        this.input = input;
+    }
+
+    /**
+     * Sets whether commands are run from a script, in which case only messages are printed
+     * and there are no prompts.
+     *
+     * @param isBatchMode Whether commands are run from a script.
+     */
+    public void setBatchMode(boolean isBatchMode) {
+        this.isBatchMode = isBatchMode;
+    }
+
     /**
      * Prints formatted Bibo header with message.
+     * Only the message is printed in batch mode.
      *
      * @param message Message to print.
      */
     public void speak(String message) {
-        System.out.println("\n---------- Bibo says: ----------");
+        if (!isBatchMode) {
+            System.out.println("\n---------- Bibo says: ----------");
+        }
         System.out.println(message);
     }
 
     /**
-     * Reads user input from console.
+     * Reads next line of user input.
      *
-     * @return User input.
-     * @throws IOException
+     * @return User input, or null if input has ended.
+     * @throws IOException if an error occurs while reading input.
      */
     public String getInput() throws IOException {
-        System.out.println("\n----------- You say: -----------");
-        return scanner.nextLine();
+        if (!isBatchMode) {
+            System.out.println("\n----------- You say: -----------");
+        }
+        return input.readLine();
     }
 
     /**
-     * Opens the scanner and greets the user.
+     * Greets the user.
      */
     public void open() {
         speak("Hello! I'm Bibo. What can I do for you today?");
     }
 
     /**
-     * Closes the scanner.
+     * Closes the input source.
      */
     public void close() {
-        scanner.close();
+        try {
+            input.close();
+        } catch (IOException e) {
+            // input is no longer read, so errors closing it are harmless
+        }
         isRunning = false;
     }
 }
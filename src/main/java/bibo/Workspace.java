@@ -0,0 +1,280 @@
+package bibo;
+
+import java.io.File;
+import java.util.regex.Pattern;
+
+import bibo.Command.CommandType;
+import bibo.exceptions.BiboException;
+import bibo.exceptions.FileException;
+import bibo.exceptions.TaskFormatException;
+import bibo.exceptions.UnknownCommandException;
+import bibo.exceptions.WorkspaceException;
+import bibo.notes.Notes;
+import bibo.task.Task;
+import bibo.task.TaskList;
+import bibo.utils.FileParser;
+import bibo.utils.InputParser;
+import bibo.utils.Metrics;
+
+/**
+ * Represents a named task list and its notes, saved in a data directory of its own.
+ * The default workspace is saved directly in the data directory, and others in subdirectories named after them.
+ */
+public class Workspace {
+    /** Name of the workspace that is used on startup. */
+    public static final String DEFAULT_NAME = "default";
+    private static final String DATA_DIR = "data";
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-z0-9_-]{1,64}");
+    // number of task data lines decoded together while loading
+    private static final int LOAD_BATCH_SIZE = 16384;
+
+    private final String name;
+    private final TaskList taskList;
+    private final Notes notes;
+    private final Storage storage;
+    private final Command cmd;
+
+    /**
+     * Constructs an empty workspace. Its saved data is only read when it is loaded.
+     *
+     * @param name Name of workspace.
+     * @param ui Ui that commands respond through.
+     * @param metrics Metrics to record to.
+     * @param workspaces Workspaces that the workspace belongs to.
+     */
+    Workspace(String name, Ui ui, Metrics metrics, Workspaces workspaces) {
+        this.name = name;
+        this.taskList = new TaskList();
+        this.notes = new Notes();
+        this.storage = new Storage(true, name.equals(DEFAULT_NAME) ? DATA_DIR : DATA_DIR + File.separator + name);
+        storage.setBinarySnapshot(Boolean.getBoolean("bibo.binarySnapshot"));
+        storage.setMetrics(metrics);
+        this.cmd = new Command(ui, storage, metrics, workspaces);
+    }
+
+    /**
+     * Parses workspace name, which is used as a directory name.
+     *
+     * @param name Name given by user, in any case.
+     * @return Name in lowercase.
+     * @throws WorkspaceException if name is not made up of letters, digits, - and _.
+     */
+    static String parseName(String name) throws WorkspaceException {
+        String parsedName = name.trim().toLowerCase();
+
+        if (!NAME_PATTERN.matcher(parsedName).matches()) {
+            throw new WorkspaceException(WorkspaceException.ErrorType.INVALID_NAME.toString());
+        }
+
+        return parsedName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TaskList getTaskList() {
+        return taskList;
+    }
+
+    public Notes getNotes() {
+        return notes;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Runs command on the task list and notes of this workspace.
+     *
+     * @param type Command type.
+     * @param args Arguments for command.
+     * @return Response to user.
+     */
+    Response run(CommandType type, String args) {
+        return cmd.run(type, args, taskList, notes);
+    }
+
+    /**
+     * Runs command on the task list and notes of this workspace and gets text of response.
+     *
+     * @param type Command type.
+     * @param args Arguments for command.
+     * @return Text of response to user.
+     */
+    String getResponse(CommandType type, String args) {
+        return run(type, args).getText();
+    }
+
+    /**
+     * Starts grouping changes into one batch, which is saved as a whole when it ends.
+     */
+    void beginBatch() {
+        storage.beginBatch();
+    }
+
+    /**
+     * Ends batch of changes and saves them, if a batch was started.
+     *
+     * @throws FileException if an error occurs while saving.
+     */
+    void endBatch() throws FileException {
+        storage.endBatch(taskList, notes);
+    }
+
+    /**
+     * Parses task data from storage and adds tasks to task list.
+     * Notes are loaded separately, when they are first used.
+     */
+    void load() {
+        int totalTasks = -1;
+
+        try {
+            totalTasks = storage.hasBinarySnapshot()
+                    ? storage.readBinaryTaskData(this::addLoadedTask)
+                    : storage.readTaskData(LOAD_BATCH_SIZE, this::addTaskBatch);
+        } catch (FileException e) {
+            System.out.println(e.getMessage());
+        }
+
+        if (totalTasks < 0) {
+            return;
+        }
+
+        int loadedTasks = taskList.getTaskListSize();
+        replayJournal();
+
+        setupFile(loadedTasks, totalTasks);
+    }
+
+    /**
+     * Decodes batch of task data lines in parallel and adds tasks to task list in file order.
+     *
+     * @param batch Task data lines to add.
+     */
+    private void addTaskBatch(String[] batch) {
+        TaskFormatException[] errors = new TaskFormatException[batch.length];
+        Task[] tasks = FileParser.parseTasks(batch, errors);
+
+        for (int i = 0; i < tasks.length; i++) {
+            if (tasks[i] == null) {
+                System.out.println(errors[i].getMessage());
+            } else {
+                addLoadedTask(tasks[i]);
+            }
+        }
+    }
+
+    /**
+     * Applies journal entries written since the task list file was last saved.
+     */
+    private void replayJournal() {
+        String[] journalData = null;
+
+        try {
+            journalData = storage.getJournalData();
+        } catch (FileException e) {
+            System.out.println(e.getMessage());
+        }
+
+        if (journalData == null) {
+            return;
+        }
+
+        for (String entry : journalData) {
+            replayJournalEntry(entry);
+        }
+    }
+
+    /**
+     * Applies a single journal entry to the task list.
+     * Entries referring to tasks that are already in the expected state are ignored.
+     *
+     * @param entry Journal entry in the format "&lt;command&gt; &lt;task data&gt;".
+     */
+    private void replayJournalEntry(String entry) {
+        try {
+            String[] args = InputParser.parseInput(entry);
+            CommandType type = Command.parseCommandType(args[0]);
+
+            switch (type) {
+            case TODO:
+            case DEADLINE:
+            case EVENT:
+                addFileTask(args[1]);
+                return;
+            default:
+                break;
+            }
+
+            Task task = taskList.getTask(FileParser.parseTask(args[1]));
+
+            if (task == null) {
+                return;
+            }
+
+            switch (type) {
+            case MARK:
+                taskList.setTaskStatus(task, true);
+                break;
+            case UNMARK:
+                taskList.setTaskStatus(task, false);
+                break;
+            case DELETETASK:
+                taskList.removeTask(task);
+                break;
+            default:
+                throw new UnknownCommandException();
+            }
+        } catch (BiboException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Adds task to task list based on task data.
+     *
+     * @param taskData Task data to add.
+     * @throws BiboException if an error occurs while adding task.
+     */
+    private void addFileTask(String taskData) {
+        try {
+            taskList.addTask(FileParser.parseTask(taskData));
+        } catch (BiboException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Adds task decoded from file to task list.
+     *
+     * @param task Task to add.
+     */
+    private void addLoadedTask(Task task) {
+        try {
+            taskList.addTask(task);
+        } catch (TaskFormatException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Checks for corrupted data and saves task list to file.
+     *
+     * @param loadedTasks Number of tasks loaded.
+     * @param totalTasks Total number of tasks.
+     * @throws BiboException if an error occurs while setting up file.
+     */
+    private void setupFile(int loadedTasks, int totalTasks) {
+        try {
+            storage.checkCorruptedData(loadedTasks, totalTasks);
+            storage.saveTaskList(taskList);
+            System.out.println("File setup complete.");
+        } catch (FileException e) {
+            System.out.println(e.getMessage());
+        }
+
+        System.out.println("Task list loaded successfully.");
+    }
+}
@@ -0,0 +1,134 @@
+package bibo;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import bibo.exceptions.BiboException;
+import bibo.exceptions.FileException;
+import bibo.utils.Metrics;
+
+/**
+ * Represents the workspaces of Bibo, of which one is active at a time.
+ * Workspaces are loaded from file when first used. Only the most recently used ones are kept in memory,
+ * so startup time and memory use do not grow with the number of saved workspaces.
+ * Only used on the command thread.
+ */
+public class Workspaces {
+    private static final int DEFAULT_MAX_LOADED = 4;
+
+    private final Ui ui;
+    private final Metrics metrics;
+    private final int maxLoaded;
+    // loaded workspaces, least recently used first
+    private final LinkedHashMap<String, Workspace> loaded = new LinkedHashMap<>(16, 0.75f, true);
+    private Workspace active;
+    private boolean isBatching;
+
+    /**
+     * Constructs workspaces, keeping as many in memory as given by the bibo.maxLoadedWorkspaces property.
+     *
+     * @param ui Ui that commands respond through.
+     * @param metrics Metrics to record to.
+     */
+    public Workspaces(Ui ui, Metrics metrics) {
+        this(ui, metrics, Integer.getInteger("bibo.maxLoadedWorkspaces", DEFAULT_MAX_LOADED));
+    }
+
+    /**
+     * Constructs workspaces.
+     *
+     * @param ui Ui that commands respond through.
+     * @param metrics Metrics to record to.
+     * @param maxLoaded Number of workspaces kept in memory, including the active one.
+     */
+    Workspaces(Ui ui, Metrics metrics, int maxLoaded) {
+        this.ui = ui;
+        this.metrics = metrics;
+        this.maxLoaded = Math.max(1, maxLoaded);
+    }
+
+    public Workspace getActive() {
+        return active;
+    }
+
+    /**
+     * Gets names of workspaces in memory.
+     *
+     * @return Names, least recently used first.
+     */
+    public List<String> getLoadedNames() {
+        return new ArrayList<>(loaded.keySet());
+    }
+
+    /**
+     * Makes workspace active, loading it if it is not in memory.
+     * Changes to the previously active workspace are saved first, so that only the active workspace
+     * ever has unsaved changes. The least recently used workspaces are then closed until few enough are left.
+     *
+     * @param name Name of workspace.
+     * @return Active workspace.
+     * @throws BiboException if name is invalid or changes to the previous workspace cannot be saved.
+     */
+    public Workspace use(String name) throws BiboException {
+        String parsedName = Workspace.parseName(name);
+
+        if (active != null && active.getName().equals(parsedName)) {
+            return active;
+        }
+
+        if (active != null) {
+            if (isBatching) {
+                active.endBatch();
+            }
+            active.getStorage().flush();
+        }
+
+        Workspace workspace = loaded.get(parsedName);
+        if (workspace == null) {
+            workspace = new Workspace(parsedName, ui, metrics, this);
+            workspace.load();
+            loaded.put(parsedName, workspace);
+        }
+
+        active = workspace;
+        if (isBatching) {
+            active.beginBatch();
+        }
+
+        evict();
+        return active;
+    }
+
+    private void evict() {
+        Iterator<Workspace> iterator = loaded.values().iterator();
+
+        while (loaded.size() > maxLoaded && iterator.hasNext()) {
+            Workspace workspace = iterator.next();
+            if (workspace != active) {
+                workspace.getStorage().close();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Starts grouping changes into one batch, which is saved as a whole when it ends.
+     * A batch that switches workspaces saves each workspace as it is left.
+     */
+    public void beginBatch() {
+        isBatching = true;
+        active.beginBatch();
+    }
+
+    /**
+     * Ends batch and saves changes to the active workspace, waiting for the writes to finish.
+     *
+     * @throws FileException if an error occurs while saving.
+     */
+    public void endBatch() throws FileException {
+        isBatching = false;
+        active.endBatch();
+    }
+}
@@ -1,6 +1,8 @@
 package bibo.controllers;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 
 import javafx.collections.FXCollections;
@@ -21,18 +23,24 @@ import javafx.scene.text.TextAlignment;
  * and a label containing text from the speaker.
  */
 public class DialogBox extends HBox {
+    private static final String TEMPLATE_PATH = "/view/DialogBox.fxml";
+    // FXML template is read once and shared by all dialog boxes
+    private static byte[] template;
+
     @FXML
     private Label dialog;
     @FXML
     private ImageView displayPicture;
 
+    private boolean isFlipped = false;
+
     private DialogBox(String text, Image img) {
-        FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
+        FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource(TEMPLATE_PATH));
         fxmlLoader.setController(this);
         fxmlLoader.setRoot(this);
 
         try {
-            fxmlLoader.load();
+            fxmlLoader.load(new ByteArrayInputStream(getTemplate()));
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -43,12 +51,38 @@ public class DialogBox extends HBox {
         displayPicture.setImage(img);
     }
 
+    private static synchronized byte[] getTemplate() throws IOException {
+        if (template == null) {
+            try (InputStream in = MainWindow.class.getResourceAsStream(TEMPLATE_PATH)) {
+                template = in.readAllBytes();
+            }
+        }
+        return template;
+    }
+
     private void flip() {
         ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
         Collections.reverse(tmp);
         getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-        dialog.setTextAlignment(TextAlignment.LEFT);
+        isFlipped = !isFlipped;
+        setAlignment(isFlipped ? Pos.TOP_LEFT : Pos.TOP_RIGHT);
+        dialog.setTextAlignment(isFlipped ? TextAlignment.LEFT : TextAlignment.RIGHT);
+    }
+
+    /**
+     * Reuses dialog box for another message.
+     *
+     * @param text Text to show.
+     * @param img Display picture of speaker.
+     * @param isBibo Whether Bibo is the speaker, which puts the picture on the left.
+     */
+    public void setDialog(String text, Image img, boolean isBibo) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+
+        if (isBibo != isFlipped) {
+            flip();
+        }
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
@@ -0,0 +1,66 @@
+package bibo.controllers;
+
+import java.util.function.Consumer;
+
+import javafx.scene.control.Button;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * Represents a reusable list cell that shows a message in a dialog box.
+ * Cells are recycled as the conversation scrolls, so only visible messages have dialog boxes.
+ * Messages with an action are shown as a button instead.
+ */
+public class DialogCell extends ListCell<Message> {
+    private final Image userImg;
+    private final Image biboImg;
+    private final Consumer<Message> onAction;
+    private DialogBox dialogBox;
+    private Button actionButton;
+
+    /**
+     * Constructs a dialog cell.
+     *
+     * @param userImg Display picture of the user.
+     * @param biboImg Display picture of Bibo.
+     * @param onAction Handler for clicks on messages with an action.
+     */
+    public DialogCell(Image userImg, Image biboImg, Consumer<Message> onAction) {
+        this.userImg = userImg;
+        this.biboImg = biboImg;
+        this.onAction = onAction;
+
+        // let the list width decide the cell width, so long messages wrap instead of scrolling sideways
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        if (message.getAction() != null) {
+            if (actionButton == null) {
+                actionButton = new Button();
+            }
+
+            actionButton.setText(message.getText());
+            actionButton.setOnAction(event -> onAction.accept(message));
+            setGraphic(actionButton);
+            return;
+        }
+
+        if (dialogBox == null) {
+            dialogBox = DialogBox.getUserDialog("", userImg);
+        }
+
+        dialogBox.setDialog(message.getText(),
+                message.isFromUser() ? userImg : biboImg,
+                !message.isFromUser());
+        setGraphic(dialogBox);
+    }
+}
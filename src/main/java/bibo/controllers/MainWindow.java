@@ -5,22 +5,24 @@ import java.util.TimerTask;
 
 import bibo.Bibo;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 /**
  * Controller for the main GUI.
  */
 public class MainWindow extends AnchorPane {
+    private static final String PENDING_MESSAGE = "Beep boop... thinking...";
+    private static final String LOAD_MORE_MESSAGE = "Load more";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<Message> dialogList;
     @FXML
     private TextField userInput;
     @FXML
@@ -29,48 +31,123 @@ public class MainWindow extends AnchorPane {
     private Image biboImg = new Image(this.getClass().getResourceAsStream("/images/walle.png"));
     private Image userImg = new Image(this.getClass().getResourceAsStream("/images/eve.png"));
     private Bibo bibo;
+    private ObservableList<Message> messages = FXCollections.observableArrayList();
 
     /**
      * Initializes main window.
+     * Messages are shown in a virtualized list, so only visible messages have dialog boxes.
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new DialogCell(userImg, biboImg, this::loadMore));
 
-        dialogContainer.getChildren().add(
-                DialogBox.getBiboDialog("Beep boop! Bibo!", biboImg));
+        addMessages(new Message("Beep boop! Bibo!", false));
     }
 
-    /** Injects the Bibo instance */
+    /**
+     * Injects the Bibo instance, shows the agenda once tasks are loaded and
+     * shows reminders as tasks fall due.
+     *
+     * @param bibo Bibo instance.
+     */
     public void setBibo(Bibo bibo) {
         this.bibo = bibo;
+
+        bibo.setReminderListener(reminder -> Platform.runLater(() -> {
+            addMessages(new Message(reminder, false));
+        }));
+
+        bibo.getResponseAsync("agenda").thenAcceptAsync(response -> {
+            addMessages(new Message(response, false));
+        }, Platform::runLater);
+    }
+
+    /**
+     * Appends messages to the conversation and scrolls to the latest one.
+     *
+     * @param newMessages Messages to append.
+     */
+    private void addMessages(Message... newMessages) {
+        messages.addAll(newMessages);
+        dialogList.scrollTo(messages.size() - 1);
+    }
+
+    /**
+     * Replaces message in the conversation.
+     * Searches from the end, since replaced messages are usually recent.
+     *
+     * @param oldMessage Message to replace.
+     * @param newMessage Message to show instead.
+     */
+    private void replaceMessage(Message oldMessage, Message newMessage) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i) == oldMessage) {
+                messages.set(i, newMessage);
+                break;
+            }
+        }
+        dialogList.scrollTo(messages.size() - 1);
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing
-     * Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Runs user input and clears it.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
+        userInput.clear();
+        runCommand(input);
+    }
 
-        String response = bibo.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImg),
-                DialogBox.getBiboDialog(response, biboImg));
+    /**
+     * Runs command of a "load more" message and removes the message.
+     *
+     * @param message Message that was clicked.
+     */
+    private void loadMore(Message message) {
+        messages.remove(message);
+        runCommand(message.getAction());
+    }
 
-        userInput.clear();
+    /**
+     * Appends two messages, one echoing the command and the other showing that
+     * Bibo is working on a reply, to the conversation.
+     * The reply replaces the placeholder once the command completes, so the GUI
+     * stays responsive while commands run.
+     * If the reply is one page of a longer list, a "load more" message follows it.
+     *
+     * @param input Command to run.
+     */
+    private void runCommand(String input) {
+        Message pendingMessage = new Message(PENDING_MESSAGE, false);
 
-        if (input.equals("bye")) {
-            TimerTask task = new TimerTask() {
-                @Override
-                public void run() {
-                    Platform.exit();
-                    System.exit(0);
-                }
-            };
-            new Timer().schedule(task, 1000);
-        }
+        addMessages(new Message(input, true), pendingMessage);
+
+        bibo.respondAsync(input).thenAcceptAsync(response -> {
+            replaceMessage(pendingMessage, new Message(response.getText(), false));
+
+            if (response.getNextPageCommand() != null) {
+                addMessages(new Message(LOAD_MORE_MESSAGE, false, response.getNextPageCommand()));
+            }
+
+            if (input.equals("bye")) {
+                exit();
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Exits application after a short delay.
+     */
+    private void exit() {
+        TimerTask task = new TimerTask() {
+            @Override
+            public void run() {
+                Platform.exit();
+                System.exit(0);
+            }
+        };
+        new Timer().schedule(task, 1000);
     }
 }
@@ -0,0 +1,46 @@
+package bibo.controllers;
+
+/**
+ * Represents a single message in the conversation shown in the main window.
+ * A message with an action is shown as a button that runs the action as a command.
+ */
+public class Message {
+    private final String text;
+    private final boolean isFromUser;
+    private final String action;
+
+    /**
+     * Constructs a message.
+     *
+     * @param text Text of message.
+     * @param isFromUser Whether message was sent by the user rather than Bibo.
+     */
+    public Message(String text, boolean isFromUser) {
+        this(text, isFromUser, null);
+    }
+
+    /**
+     * Constructs a message that runs a command when clicked.
+     *
+     * @param text Text of message.
+     * @param isFromUser Whether message was sent by the user rather than Bibo.
+     * @param action Command to run when message is clicked.
+     */
+    public Message(String text, boolean isFromUser, String action) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+        this.action = action;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    public String getAction() {
+        return action;
+    }
+}
@@ -38,6 +38,18 @@ public class TaskFormatException extends BiboException {
                 return "Start date and time must be before end date and time!";
             }
         },
+        DATE_TIME_FORMAT {
+            @Override
+            public String toString() {
+                return "Date and time format invalid! Use dd-MM-yyyy HHmm.";
+            }
+        },
+        RANGE_TOKEN {
+            @Override
+            public String toString() {
+                return "Date range format invalid! Use DATE/TIME /to DATE/TIME.";
+            }
+        },
         MISSING_ARGUMENT {
             @Override
             public String toString() {
@@ -0,0 +1,37 @@
+package bibo.exceptions;
+
+/**
+ * Represents an exception that is thrown when a workspace cannot be used.
+ */
+public class WorkspaceException extends BiboException {
+    /**
+     * Represents the type of error that occurred.
+     */
+    public enum ErrorType {
+        INVALID_NAME {
+            @Override
+            public String toString() {
+                return "Workspace names can only have letters, digits, - and _!";
+            }
+        },
+        UNSUPPORTED {
+            @Override
+            public String toString() {
+                return "Workspaces are not available here!";
+            }
+        }
+    }
+
+    public WorkspaceException() {
+        super("Invalid workspace.");
+    }
+
+    public WorkspaceException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceException: " + getMessage();
+    }
+}
@@ -25,6 +25,17 @@ public class Note {
         this.title = description[1];
     }
 
+    /**
+     * Converts note to the note description it was created from, for saving to file.
+     *
+     * @return Note description.
+     */
+    public String toFileString() {
+        return title.isEmpty()
+                ? content
+                : content + " /content " + title;
+    }
+
     @Override
     public String toString() {
         if (title.isEmpty()) {
@@ -1,17 +1,21 @@
 package bibo.notes;
 
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.List;
 
 import bibo.exceptions.ListIndexException;
 import bibo.exceptions.NoteFormatException;
 import bibo.utils.InputParser;
+import bibo.utils.ListRenderer;
 
 /**
  * Represents a list of notes.
  */
 public class Notes {
     private ArrayList<Note> notes;
+    // incremented on every change so that unchanged notes are not saved again
+    private long version = 0;
 
     /**
      * Constructs a list of notes.
@@ -30,6 +34,24 @@ public class Notes {
         return notes.size();
     }
 
+    /**
+     * Gets version of the list of notes, which changes whenever the list is changed.
+     *
+     * @return Version of the list of notes.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets notes in the list of notes.
+     *
+     * @return Read-only view of notes in order.
+     */
+    public List<Note> getNotes() {
+        return Collections.unmodifiableList(notes);
+    }
+
     /**
      * Adds note to the list of notes.
      *
@@ -47,6 +69,7 @@ public class Notes {
         }
 
         notes.add(note);
+        version++;
         return note;
     }
 
@@ -59,6 +82,7 @@ public class Notes {
         try {
             int noteIndex = Integer.parseInt(index) - 1;
             notes.remove(noteIndex);
+            version++;
         } catch (NumberFormatException e) {
             throw new ListIndexException(
                 ListIndexException.ErrorType.INVALID_INDEX.toString()
@@ -70,14 +94,40 @@ public class Notes {
         }
     }
 
+    /**
+     * Gets one page of the list of notes, to be rendered later.
+     *
+     * @param page     One-based page number.
+     * @param pageSize Number of notes per page.
+     * @return Notes on page.
+     * @throws ListIndexException If page does not exist.
+     */
+    public ListRenderer.Page getPage(int page, int pageSize) throws ListIndexException {
+        return ListRenderer.getPage(Collections.unmodifiableList(notes), page, pageSize, "notes");
+    }
+
+    /**
+     * Renders one page of the list of notes.
+     *
+     * @param page     One-based page number.
+     * @param pageSize Number of notes per page.
+     * @return Notes on page, or a message if there are no notes.
+     * @throws ListIndexException If page does not exist.
+     */
+    public String toString(int page, int pageSize) throws ListIndexException {
+        if (notes.isEmpty()) {
+            return toString();
+        }
+
+        return getPage(page, pageSize).toString();
+    }
+
     @Override
     public String toString() {
         if (notes.isEmpty()) {
             return "No notes found!";
         }
 
-        return notes.stream()
-                .map(note -> notes.indexOf(note) + 1 + ". " + note.toString())
-                .collect(Collectors.joining("\n"));
+        return ListRenderer.render(new StringBuilder(), notes).toString();
     }
 }
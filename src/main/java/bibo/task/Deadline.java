@@ -1,6 +1,7 @@
 package bibo.task;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
  * Represents a task with a deadline.
@@ -48,6 +49,11 @@ public class Deadline extends Task {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), by);
+    }
+
     @Override
     public String toFileString() {
         return "[D]" + super.toString()
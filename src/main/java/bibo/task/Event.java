@@ -1,6 +1,7 @@
 package bibo.task;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
  * Represents an event.
@@ -32,6 +33,24 @@ public class Event extends Task {
         this(description, dateTime[0], dateTime[1]);
     }
 
+    /**
+     * Gets event start time.
+     *
+     * @return Event start time.
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * Gets event end time.
+     *
+     * @return Event end time.
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof Event) {
@@ -43,6 +62,11 @@ public class Event extends Task {
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), start, end);
+    }
+
     @Override
     public String toFileString() {
         return "[E]" + super.toString()
@@ -4,12 +4,12 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Represents a task.
+ * Represents a task. Tasks cannot be changed once created, so they can be shared between snapshots of a task list.
  */
-public class Task {
+public class Task implements Cloneable {
     private static final DateTimeFormatter DATE_TIME_FORMATTER =
         DateTimeFormatter.ofPattern("dd MMM yyyy hh:mm a");
-    private String description;
+    private final String description;
     private boolean isDone;
 
     /**
@@ -32,17 +32,29 @@ public class Task {
     }
 
     /**
-     * Sets task completion status to done.
+     * Checks if task is done.
+     *
+     * @return True if task is done.
      */
-    public void markAsDone() {
-        this.isDone = true;
+    public boolean isDone() {
+        return isDone;
     }
 
     /**
-     * Sets task completion status to undone.
+     * Creates a copy of task with the given completion status.
+     * Changing the status of a task in a list replaces it with a copy, so that snapshots of the list stay consistent.
+     *
+     * @param isDone Whether copy is done.
+     * @return Copy of task.
      */
-    public void markAsUndone() {
-        this.isDone = false;
+    public Task withStatus(boolean isDone) {
+        try {
+            Task task = (Task) super.clone();
+            task.isDone = isDone;
+            return task;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
     }
 
     /**
@@ -55,15 +67,24 @@ public class Task {
         return dateTime.format(DATE_TIME_FORMATTER);
     }
 
+    /**
+     * Checks if object is a task of the same type with the same details.
+     * Completion status is not part of task identity.
+     */
     @Override
     public boolean equals(Object obj) {
-        if (obj instanceof Task) {
+        if (obj != null && obj.getClass() == this.getClass()) {
             Task task = (Task) obj;
             return this.description.equals(task.description);
         }
         return false;
     }
 
+    @Override
+    public int hashCode() {
+        return description.hashCode();
+    }
+
     /**
      * Returns task string in file format.
      */
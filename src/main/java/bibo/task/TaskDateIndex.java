@@ -0,0 +1,302 @@
+package bibo.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Represents a sorted index of task dates.
+ * Deadlines are kept in a tree map keyed by due date.
+ * Events are kept in an interval tree, a treap ordered by start time where each node also
+ * records the latest end time in its subtree, so subtrees that cannot overlap a range are skipped.
+ * Range queries take O(log n + k) time for k matching tasks.
+ */
+class TaskDateIndex {
+    private static final Comparator<Event> EVENT_ORDER = Comparator.comparing(Event::getStart)
+            .thenComparing(Event::getEnd)
+            .thenComparing(Event::getDescription);
+
+    private TreeMap<LocalDateTime, ArrayList<Deadline>> deadlines = new TreeMap<>();
+    private EventNode events;
+    private Random priorities = new Random();
+
+    /**
+     * Represents a node of the event interval tree.
+     */
+    private static class EventNode {
+        private Event event;
+        private final int priority;
+        private LocalDateTime maxEnd;
+        private EventNode left;
+        private EventNode right;
+
+        EventNode(Event event, int priority) {
+            this.event = event;
+            this.priority = priority;
+            this.maxEnd = event.getEnd();
+        }
+    }
+
+    /**
+     * Adds task to the index. Tasks without dates are ignored.
+     *
+     * @param task Task to add.
+     */
+    void add(Task task) {
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            deadlines.computeIfAbsent(deadline.getBy(), key -> new ArrayList<>()).add(deadline);
+        } else if (task instanceof Event) {
+            events = insert(events, new EventNode((Event) task, priorities.nextInt()));
+        }
+    }
+
+    /**
+     * Removes task from the index. Tasks without dates are ignored.
+     *
+     * @param task Task to remove.
+     */
+    void remove(Task task) {
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            ArrayList<Deadline> due = deadlines.get(deadline.getBy());
+            if (due != null && due.remove(deadline) && due.isEmpty()) {
+                deadlines.remove(deadline.getBy());
+            }
+        } else if (task instanceof Event) {
+            events = delete(events, (Event) task);
+        }
+    }
+
+    /**
+     * Replaces task with an equal task, such as a copy with a different status, in the same place.
+     *
+     * @param task Task in the index.
+     * @param replacement Task to replace it with.
+     */
+    void replace(Task task, Task replacement) {
+        if (task instanceof Deadline) {
+            ArrayList<Deadline> due = deadlines.get(((Deadline) task).getBy());
+            due.set(due.indexOf(task), (Deadline) replacement);
+        } else if (task instanceof Event) {
+            EventNode node = events;
+            while (node != null) {
+                int order = EVENT_ORDER.compare((Event) task, node.event);
+                if (order == 0) {
+                    node.event = (Event) replacement;
+                    return;
+                }
+                node = order < 0 ? node.left : node.right;
+            }
+        }
+    }
+
+    /**
+     * Finds deadlines due at or before a date time, earliest first.
+     *
+     * @param by Latest due date time to match.
+     * @return Matching deadlines.
+     */
+    List<Task> findDue(LocalDateTime by) {
+        ArrayList<Task> result = new ArrayList<>();
+        deadlines.headMap(by, true).values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Finds deadlines due and events starting within a range, earliest first.
+     *
+     * @param from Start of range, inclusive.
+     * @param to   End of range, inclusive.
+     * @return Matching tasks.
+     */
+    List<Task> findBetween(LocalDateTime from, LocalDateTime to) {
+        ArrayList<Task> result = new ArrayList<>();
+        deadlines.subMap(from, true, to, true).values().forEach(result::addAll);
+        collect(events, from, to, LocalDateTime.MIN, Integer.MAX_VALUE, result);
+
+        result.sort(Comparator.comparing(TaskDateIndex::getDate));
+        return result;
+    }
+
+    /**
+     * Finds events that overlap a range, earliest start first.
+     *
+     * @param from Start of range, inclusive.
+     * @param to   End of range, inclusive.
+     * @return Matching events.
+     */
+    List<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        ArrayList<Task> result = new ArrayList<>();
+        collect(events, LocalDateTime.MIN, to, from, Integer.MAX_VALUE, result);
+        return result;
+    }
+
+    /**
+     * Finds the earliest deadlines due and events not yet over at or after a date time.
+     * Only the first tasks in date order are visited, so the cost depends on the limit
+     * rather than the size of the index.
+     *
+     * @param now   Date time to look ahead from.
+     * @param limit Maximum number of tasks to find.
+     * @return Matching tasks, earliest first.
+     */
+    List<Task> findUpcoming(LocalDateTime now, int limit) {
+        ArrayList<Task> result = new ArrayList<>();
+        for (ArrayList<Deadline> due : deadlines.tailMap(now, true).values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.addAll(due.subList(0, Math.min(due.size(), limit - result.size())));
+        }
+
+        ArrayList<Task> upcomingEvents = new ArrayList<>();
+        collect(events, LocalDateTime.MIN, LocalDateTime.MAX, now, limit, upcomingEvents);
+        result.addAll(upcomingEvents);
+
+        result.sort(Comparator.comparing(TaskDateIndex::getDate));
+        return result.subList(0, Math.min(result.size(), limit));
+    }
+
+    /**
+     * Finds the earliest due date or event start strictly after a date time.
+     *
+     * @param after Date time to look after.
+     * @return Earliest date, or null if there is none.
+     */
+    LocalDateTime findNextDate(LocalDateTime after) {
+        LocalDateTime next = deadlines.higherKey(after);
+
+        for (EventNode node = events; node != null;) {
+            if (node.event.getStart().isAfter(after)) {
+                if (next == null || node.event.getStart().isBefore(next)) {
+                    next = node.event.getStart();
+                }
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+
+        return next;
+    }
+
+    private static LocalDateTime getDate(Task task) {
+        return task instanceof Deadline
+                ? ((Deadline) task).getBy()
+                : ((Event) task).getStart();
+    }
+
+    /**
+     * Collects events in subtree, in start order, that start within a range and end no earlier than a time.
+     * Stops once enough events have been collected.
+     *
+     * @param node     Root of subtree.
+     * @param minStart Earliest start to match.
+     * @param maxStart Latest start to match.
+     * @param minEnd   Earliest end to match.
+     * @param limit    Size of result to stop at.
+     * @param result   List to add matching events to.
+     */
+    private static void collect(EventNode node, LocalDateTime minStart, LocalDateTime maxStart,
+            LocalDateTime minEnd, int limit, List<Task> result) {
+        if (node == null || node.maxEnd.isBefore(minEnd) || result.size() >= limit) {
+            return;
+        }
+
+        LocalDateTime start = node.event.getStart();
+        if (!start.isBefore(minStart)) {
+            collect(node.left, minStart, maxStart, minEnd, limit, result);
+        }
+
+        if (start.isAfter(maxStart) || result.size() >= limit) {
+            return;
+        }
+
+        if (!start.isBefore(minStart) && !node.event.getEnd().isBefore(minEnd)) {
+            result.add(node.event);
+        }
+        collect(node.right, minStart, maxStart, minEnd, limit, result);
+    }
+
+    private static EventNode insert(EventNode node, EventNode added) {
+        if (node == null) {
+            return added;
+        }
+
+        if (EVENT_ORDER.compare(added.event, node.event) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+
+        update(node);
+        return node;
+    }
+
+    private static EventNode delete(EventNode node, Event event) {
+        if (node == null) {
+            return null;
+        }
+
+        int order = EVENT_ORDER.compare(event, node.event);
+        if (order < 0) {
+            node.left = delete(node.left, event);
+        } else if (order > 0) {
+            node.right = delete(node.right, event);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else if (node.left.priority > node.right.priority) {
+            node = rotateRight(node);
+            node.right = delete(node.right, event);
+        } else {
+            node = rotateLeft(node);
+            node.left = delete(node.left, event);
+        }
+
+        update(node);
+        return node;
+    }
+
+    private static EventNode rotateRight(EventNode node) {
+        EventNode root = node.left;
+        node.left = root.right;
+        root.right = node;
+        update(node);
+        return root;
+    }
+
+    private static EventNode rotateLeft(EventNode node) {
+        EventNode root = node.right;
+        node.right = root.left;
+        root.left = node;
+        update(node);
+        return root;
+    }
+
+    /**
+     * Recomputes latest end time of subtree from its children.
+     *
+     * @param node Root of subtree.
+     */
+    private static void update(EventNode node) {
+        node.maxEnd = node.event.getEnd();
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package bibo.task;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import bibo.Command;
@@ -11,18 +16,39 @@ import bibo.exceptions.TaskFormatException;
 import bibo.exceptions.UnknownCommandException;
 import bibo.utils.DateTimeUtil;
 import bibo.utils.InputParser;
+import bibo.utils.ListRenderer;
 
 /**
  * Represents a list of tasks.
+ * Changes are made by a single writer thread. Tasks are kept in a persistent vector and are never
+ * changed once added, so the list of tasks can be taken as an immutable snapshot from any thread
+ * without locking, while the writer keeps changing the task list.
  */
 public class TaskList {
-    private ArrayList<Task> tasks;
+    private static final int DEFAULT_UPCOMING_COUNT = 10;
+    private static final String FROM_TOKEN = "/from";
+    private static final String DONE_FLAG = "--done";
+
+    // replaced on every change, never changed in place
+    private volatile TaskVector tasks;
+    // maps each task to itself, keyed on task identity, for constant time lookups
+    private HashMap<Task, Task> identityIndex;
+    private TaskSearchIndex searchIndex;
+    private TaskDateIndex dateIndex;
+    // dates of tasks that are not done, kept in sync on add, delete, mark and unmark
+    private TaskDateIndex upcomingIndex;
+    // incremented on every change so that unchanged task lists are not saved again
+    private long version = 0;
 
     /**
      * Constructs a task list.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this.tasks = TaskVector.EMPTY;
+        this.identityIndex = new HashMap<>();
+        this.searchIndex = new TaskSearchIndex();
+        this.dateIndex = new TaskDateIndex();
+        this.upcomingIndex = new TaskDateIndex();
         assert (tasks != null) : "Task list should not be null";
     }
 
@@ -35,6 +61,25 @@ public class TaskList {
         return tasks.size();
     }
 
+    /**
+     * Gets version of task list, which changes whenever the task list is changed.
+     *
+     * @return Version of task list.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets snapshot of tasks in the task list. May be called from any thread.
+     * Later changes to the task list do not affect the snapshot.
+     *
+     * @return Immutable list of tasks in order.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
     /**
      * Adds task to the task list.
      * Task types: todo, deadline, event.
@@ -45,6 +90,98 @@ public class TaskList {
      * @throws TaskFormatException If task format is invalid.
      */
     public Task addTask(Command.CommandType cmd, String args) throws TaskFormatException {
+        return addTask(createTask(cmd, args));
+    }
+
+    /**
+     * Adds task that has already been created to the task list.
+     *
+     * @param task Task to add.
+     * @return Task added to task list.
+     * @throws TaskFormatException If task with same details already exists.
+     */
+    public Task addTask(Task task) throws TaskFormatException {
+        // check if task with same details already exists
+        if (identityIndex.putIfAbsent(task, task) != null) {
+            throw new TaskFormatException(
+                    TaskFormatException.ErrorType.DUPLICATE_TASK.toString());
+        }
+
+        tasks = tasks.append(task);
+        searchIndex.add(task);
+        dateIndex.add(task);
+        if (!task.isDone()) {
+            upcomingIndex.add(task);
+        }
+        version++;
+        return task;
+    }
+
+    /**
+     * Gets task in the task list with the same details as the given task.
+     *
+     * @param task Task to match.
+     * @return Matching task, or null if there is none.
+     */
+    public Task getTask(Task task) {
+        return identityIndex.get(task);
+    }
+
+    /**
+     * Removes task from the task list.
+     *
+     * @param task Task to remove.
+     */
+    public void removeTask(Task task) {
+        if (identityIndex.remove(task) != null) {
+            BitSet removed = new BitSet();
+            removed.set(searchIndex.getPosition(task));
+            tasks = tasks.removeIndices(removed);
+            searchIndex.remove(task);
+            dateIndex.remove(task);
+            upcomingIndex.remove(task);
+            version++;
+        }
+    }
+
+    /**
+     * Marks task in the task list as done or not done.
+     * The task is replaced by a copy with the new status, so snapshots holding it are not affected.
+     *
+     * @param task Task to mark.
+     * @param isDone Whether task is done.
+     * @return Task with the given status, now in the task list.
+     */
+    public Task setTaskStatus(Task task, boolean isDone) {
+        if (task.isDone() == isDone) {
+            return task;
+        }
+
+        Task updated = task.withStatus(isDone);
+        tasks = tasks.replace(searchIndex.getPosition(task), updated);
+        identityIndex.remove(task);
+        identityIndex.put(updated, updated);
+        searchIndex.replace(task, updated);
+        dateIndex.replace(task, updated);
+
+        if (isDone) {
+            upcomingIndex.remove(task);
+        } else {
+            upcomingIndex.add(updated);
+        }
+        version++;
+        return updated;
+    }
+
+    /**
+     * Creates task from task description.
+     *
+     * @param cmd  Command type of task.
+     * @param args Arguments for task description.
+     * @return Task created.
+     * @throws TaskFormatException If task format is invalid.
+     */
+    private Task createTask(Command.CommandType cmd, String args) throws TaskFormatException {
         Task task = null;
 
         try {
@@ -70,13 +207,6 @@ public class TaskList {
             throw e;
         }
 
-        // check if task with same details already exists
-        if (tasks.contains(task)) {
-            throw new TaskFormatException(
-                    TaskFormatException.ErrorType.DUPLICATE_TASK.toString());
-        }
-
-        tasks.add(task);
         return task;
     }
 
@@ -89,7 +219,7 @@ public class TaskList {
      */
     private Deadline addDeadline(String[] parsedDescription) throws TaskFormatException {
         String[] dateTime = Arrays.copyOfRange(parsedDescription, 1, parsedDescription.length);
-        LocalDateTime[] parsedDateTime = DateTimeUtil.parseDateTime(dateTime);
+        LocalDateTime[] parsedDateTime = parseDateTime(dateTime);
 
         if (parsedDateTime == null || parsedDateTime.length != 1) {
             throw new TaskFormatException(
@@ -108,7 +238,7 @@ public class TaskList {
      */
     private Event addEvent(String[] parsedDescription) throws TaskFormatException {
         String[] dateTime = Arrays.copyOfRange(parsedDescription, 1, parsedDescription.length);
-        LocalDateTime[] parsedDateTime = DateTimeUtil.parseDateTime(dateTime);
+        LocalDateTime[] parsedDateTime = parseDateTime(dateTime);
 
         if (parsedDateTime == null || parsedDateTime.length != 2) {
             throw new TaskFormatException(
@@ -124,55 +254,224 @@ public class TaskList {
     }
 
     /**
-     * Changes task status in the task list.
+     * Changes status of selected tasks in the task list as one batch.
      * Options: mark, unmark, delete.
+     * Tasks are selected by indices such as "3", "1-500" or "3,7,9", or by "--done" for all tasks
+     * that are done. Deleted tasks are removed in a single pass over the task list.
      *
-     * @param index Index of task to change status.
-     * @return Task with status changed.
-     * @throws ListIndexException If task index is invalid.
+     * @param cmd Command to change status.
+     * @param selection Selection of tasks to change status.
+     * @return Selected tasks as they are after the change, in task list order.
+     * @throws ListIndexException If an index is invalid.
      */
-    public Task changeTaskStatus(Command.CommandType cmd, String index)
+    public List<Task> changeTaskStatus(Command.CommandType cmd, String selection)
             throws ListIndexException, UnknownCommandException {
-        try {
-            int taskIndex = InputParser.parseTaskIndex(index) - 1;
-            Task task = tasks.get(taskIndex);
+        TaskVector current = tasks;
+        BitSet indices = selectTasks(current, selection.trim());
+        ArrayList<Task> selected = new ArrayList<>(indices.cardinality());
 
-            switch (cmd) {
-            case MARK:
-                task.markAsDone();
-                break;
-            case UNMARK:
-                task.markAsUndone();
-                break;
-            case DELETETASK:
-                tasks.remove(taskIndex);
-                break;
-            default:
-                throw new UnknownCommandException();
-            }
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            selected.add(current.get(i));
+        }
 
-            return task;
-        } catch (IndexOutOfBoundsException e) {
+        switch (cmd) {
+        case MARK:
+        case UNMARK:
+            selected.replaceAll(task -> setTaskStatus(task, cmd == Command.CommandType.MARK));
+            break;
+        case DELETETASK:
+            removeTasks(indices);
+            break;
+        default:
+            throw new UnknownCommandException();
+        }
+
+        return selected;
+    }
+
+    private static BitSet selectTasks(List<Task> tasks, String selection) throws ListIndexException {
+        if (!selection.equals(DONE_FLAG)) {
+            return InputParser.parseTaskIndices(selection, tasks.size());
+        }
+
+        BitSet indices = new BitSet(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            indices.set(i, tasks.get(i).isDone());
+        }
+        return indices;
+    }
+
+    /**
+     * Removes tasks at indices, rebuilding the rest of the task list in a single pass.
+     *
+     * @param indices Zero-based indices of tasks to remove.
+     */
+    private void removeTasks(BitSet indices) {
+        if (indices.isEmpty()) {
+            return;
+        }
+
+        for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+            Task task = tasks.get(i);
+            identityIndex.remove(task);
+            searchIndex.remove(task);
+            dateIndex.remove(task);
+            upcomingIndex.remove(task);
+        }
+
+        tasks = tasks.removeIndices(indices);
+        version++;
+    }
+
+    /**
+     * Finds tasks matching query in task list.
+     * Keywords match whole words in task descriptions, ignoring case, and are combined with AND.
+     * Groups of keywords separated by "or" are combined with OR.
+     * A keyword ending with "*" matches words starting with it.
+     *
+     * @param query Query to match.
+     * @return Tasks matching query.
+     */
+    public ListRenderer.Lines findTasks(String query) {
+        Collection<Integer> ids = searchIndex.find(query);
+        ArrayList<Task> matches = new ArrayList<>(ids.size());
+        int[] positions = new int[ids.size()];
+
+        for (int id : ids) {
+            positions[matches.size()] = searchIndex.getPosition(id);
+            matches.add(searchIndex.getTask(id));
+        }
+
+        return new ListRenderer.Lines(matches, positions);
+    }
+
+    /**
+     * Finds deadlines due at or before a date time, earliest first.
+     *
+     * @param args Date time in the format "DATE/TIME".
+     * @return Matching tasks, numbered by position in the task list.
+     * @throws TaskFormatException If date time is invalid.
+     */
+    public ListRenderer.Lines findDue(String args) throws TaskFormatException {
+        LocalDateTime[] by = parseDateRange(new String[] { args.trim() });
+        return renderTasks(dateIndex.findDue(by[0]));
+    }
+
+    /**
+     * Finds deadlines due and events starting within a range, earliest first.
+     *
+     * @param args Range in the format "DATE/TIME /to DATE/TIME".
+     * @return Matching tasks, numbered by position in the task list.
+     * @throws TaskFormatException If range is invalid.
+     */
+    public ListRenderer.Lines findBetween(String args) throws TaskFormatException {
+        LocalDateTime[] range = parseDateRange(InputParser.parseDateRange(args));
+        return renderTasks(dateIndex.findBetween(range[0], range[1]));
+    }
+
+    /**
+     * Finds events that overlap a range, earliest start first.
+     *
+     * @param args Range in the format "DATE/TIME /to DATE/TIME".
+     * @return Matching events, numbered by position in the task list.
+     * @throws TaskFormatException If range is invalid.
+     */
+    public ListRenderer.Lines findOverlapping(String args) throws TaskFormatException {
+        LocalDateTime[] range = parseDateRange(InputParser.parseDateRange(args));
+        return renderTasks(dateIndex.findOverlapping(range[0], range[1]));
+    }
+
+    /**
+     * Finds the next deadlines and events that are not done, earliest first.
+     * Events that have started but not ended are included.
+     *
+     * @param args Arguments in the format "[COUNT] [/from DATE/TIME]".
+     *             Defaults to the next 10 tasks from now.
+     * @return Matching tasks, numbered by position in the task list.
+     * @throws TaskFormatException If date time is invalid.
+     * @throws ListIndexException If count is not a positive number.
+     */
+    public ListRenderer.Lines findUpcoming(String args) throws TaskFormatException, ListIndexException {
+        String[] parsedArgs = args.split(FROM_TOKEN, 2);
+        String count = parsedArgs[0].trim();
+        int limit = count.isEmpty() ? DEFAULT_UPCOMING_COUNT : InputParser.parseTaskIndex(count);
+
+        if (limit < 1) {
             throw new ListIndexException(
                     ListIndexException.ErrorType.INVALID_INDEX.toString());
-        } catch (ListIndexException e) {
-            throw e;
         }
+
+        LocalDateTime now = parsedArgs.length == 1
+                ? LocalDateTime.now()
+                : parseDateRange(new String[] { parsedArgs[1].trim() })[0];
+
+        return renderTasks(upcomingIndex.findUpcoming(now, limit));
     }
 
     /**
-     * Finds tasks matching keyword in task list.
+     * Finds the earliest time after a date time at which a task that is not done falls due
+     * or starts.
      *
-     * @param keyword Keyword to match.
-     * @return Tasks matching keyword.
+     * @param after Date time to look after.
+     * @return Earliest due time, or null if there is none.
      */
-    public ArrayList<String> findTasks(String keyword) {
-        ArrayList<String> messages = tasks.stream()
-                .filter(task -> task.getDescription().contains(keyword))
-                .map(task -> tasks.indexOf(task) + 1 + ". " + task.toString())
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    public LocalDateTime getNextDueTime(LocalDateTime after) {
+        return upcomingIndex.findNextDate(after);
+    }
 
-        return messages;
+    /**
+     * Finds tasks that are not done and fall due or start within a range, earliest first.
+     *
+     * @param after Start of range, exclusive.
+     * @param until End of range, inclusive.
+     * @return Matching tasks, numbered by position in the task list.
+     */
+    public ListRenderer.Lines findDueTasks(LocalDateTime after, LocalDateTime until) {
+        return renderTasks(upcomingIndex.findBetween(after.plusNanos(1), until));
+    }
+
+    /**
+     * Parses date times given by user.
+     *
+     * @param dateTime Date time strings.
+     * @return Parsed date times.
+     * @throws TaskFormatException If a date time is invalid.
+     */
+    private LocalDateTime[] parseDateTime(String[] dateTime) throws TaskFormatException {
+        try {
+            return DateTimeUtil.parseDateTime(dateTime);
+        } catch (DateTimeException e) {
+            throw new TaskFormatException(
+                    TaskFormatException.ErrorType.DATE_TIME_FORMAT.toString());
+        }
+    }
+
+    /**
+     * Parses date times bounding a range.
+     *
+     * @param dateTime Date time strings, in order.
+     * @return Parsed date times.
+     * @throws TaskFormatException If a date time is invalid or the range ends before it starts.
+     */
+    private LocalDateTime[] parseDateRange(String[] dateTime) throws TaskFormatException {
+        LocalDateTime[] parsedDateTime = parseDateTime(dateTime);
+
+        if (parsedDateTime.length == 2 && parsedDateTime[0].isAfter(parsedDateTime[1])) {
+            throw new TaskFormatException(
+                    TaskFormatException.ErrorType.DATE_TIME_INVALID.toString());
+        }
+
+        return parsedDateTime;
+    }
+
+    private ListRenderer.Lines renderTasks(List<Task> matches) {
+        int[] positions = new int[matches.size()];
+
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = searchIndex.getPosition(matches.get(i));
+        }
+
+        return new ListRenderer.Lines(matches, positions);
     }
 
     /**
@@ -181,19 +480,55 @@ public class TaskList {
      * @return Task list in string format.
      */
     public String toFileString() {
+        return toFileString(tasks);
+    }
+
+    /**
+     * Converts tasks to string for saving to file, such as a snapshot of a task list.
+     *
+     * @param tasks Tasks to convert.
+     * @return Tasks in string format.
+     */
+    public static String toFileString(List<Task> tasks) {
         return tasks.stream()
                 .map(Task::toFileString)
                 .collect(Collectors.joining("\n"));
     }
 
+    /**
+     * Gets one page of the task list, to be rendered later.
+     *
+     * @param page     One-based page number.
+     * @param pageSize Number of tasks per page.
+     * @return Tasks on page.
+     * @throws ListIndexException If page does not exist.
+     */
+    public ListRenderer.Page getPage(int page, int pageSize) throws ListIndexException {
+        return ListRenderer.getPage(tasks, page, pageSize, "list");
+    }
+
+    /**
+     * Renders one page of the task list.
+     *
+     * @param page     One-based page number.
+     * @param pageSize Number of tasks per page.
+     * @return Tasks on page, or a message if there are no tasks.
+     * @throws ListIndexException If page does not exist.
+     */
+    public String toString(int page, int pageSize) throws ListIndexException {
+        if (tasks.isEmpty()) {
+            return toString();
+        }
+
+        return getPage(page, pageSize).toString();
+    }
+
     @Override
     public String toString() {
         if (tasks.isEmpty()) {
             return "No tasks found!";
         }
 
-        return tasks.stream()
-                .map(task -> tasks.indexOf(task) + 1 + ". " + task.toString())
-                .collect(Collectors.joining("\n"));
+        return ListRenderer.render(new StringBuilder(), tasks).toString();
     }
 }
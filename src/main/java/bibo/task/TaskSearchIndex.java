@@ -0,0 +1,257 @@
+package bibo.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Represents an inverted index from description tokens to tasks.
+ * Each task gets an id in insertion order, so ids sort the same way as task list positions.
+ * Positions are recovered from ids by counting live ids with a Fenwick tree.
+ */
+class TaskSearchIndex {
+    private static final String OR_OPERATOR = "or";
+    private static final String AND_OPERATOR = "and";
+    private static final String PREFIX_WILDCARD = "*";
+
+    private TreeMap<String, TreeSet<Integer>> postings = new TreeMap<>();
+    private HashMap<Task, Integer> ids = new HashMap<>();
+    private ArrayList<Task> tasksById = new ArrayList<>();
+    // Fenwick tree over ids, 1-based, counting live tasks
+    private int[] liveCounts = new int[16];
+
+    /**
+     * Splits text into normalized tokens.
+     *
+     * @param text Text to split.
+     * @return Lowercase tokens of letters and digits.
+     */
+    static String[] tokenize(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Adds task to the end of the index.
+     *
+     * @param task Task to add.
+     */
+    void add(Task task) {
+        int id = tasksById.size();
+        tasksById.add(task);
+        ids.put(task, id);
+
+        if (id + 1 >= liveCounts.length) {
+            rebuildLiveCounts(liveCounts.length * 2);
+        } else {
+            updateLiveCount(id, 1);
+        }
+
+        for (String token : tokenize(task.getDescription())) {
+            postings.computeIfAbsent(token, key -> new TreeSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Removes task from the index.
+     *
+     * @param task Task to remove.
+     */
+    void remove(Task task) {
+        Integer id = ids.remove(task);
+        if (id == null) {
+            return;
+        }
+
+        tasksById.set(id, null);
+        updateLiveCount(id, -1);
+
+        for (String token : tokenize(task.getDescription())) {
+            TreeSet<Integer> taskIds = postings.get(token);
+            taskIds.remove(id);
+            if (taskIds.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+
+        // reassign ids once most of them belong to removed tasks
+        if (ids.size() < tasksById.size() / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Replaces task with an equal task, such as a copy with a different status, keeping its id.
+     *
+     * @param task Task in the index.
+     * @param replacement Task to replace it with.
+     */
+    void replace(Task task, Task replacement) {
+        Integer id = ids.remove(task);
+        ids.put(replacement, id);
+        tasksById.set(id, replacement);
+    }
+
+    /**
+     * Gets task with id.
+     *
+     * @param id Id of task.
+     * @return Task with id.
+     */
+    Task getTask(int id) {
+        return tasksById.get(id);
+    }
+
+    /**
+     * Gets position of task with id in the task list.
+     *
+     * @param id Id of task.
+     * @return Zero-based position of task.
+     */
+    int getPosition(int id) {
+        int count = 0;
+        for (int i = id + 1; i > 0; i -= i & -i) {
+            count += liveCounts[i];
+        }
+        return count - 1;
+    }
+
+    /**
+     * Gets position of task in the task list.
+     *
+     * @param task Task in the index.
+     * @return Zero-based position of task.
+     */
+    int getPosition(Task task) {
+        return getPosition(ids.get(task));
+    }
+
+    /**
+     * Finds ids of tasks matching query, in task list order.
+     * Keywords are matched against whole tokens and combined with AND.
+     * Groups of keywords separated by "or" are combined with OR.
+     * A keyword ending with "*" matches tokens starting with it.
+     *
+     * @param query Query to match.
+     * @return Ids of matching tasks.
+     */
+    Collection<Integer> find(String query) {
+        TreeSet<Integer> result = new TreeSet<>();
+        ArrayList<String> keywords = new ArrayList<>();
+
+        for (String word : query.trim().toLowerCase().split("\\s+")) {
+            if (word.equals(OR_OPERATOR)) {
+                result.addAll(findAll(keywords));
+                keywords.clear();
+            } else if (!word.isEmpty() && !word.equals(AND_OPERATOR)) {
+                keywords.add(word);
+            }
+        }
+        result.addAll(findAll(keywords));
+
+        return result;
+    }
+
+    /**
+     * Finds ids of tasks matching all keywords.
+     *
+     * @param keywords Keywords to match.
+     * @return Ids of matching tasks.
+     */
+    private Collection<Integer> findAll(List<String> keywords) {
+        ArrayList<TreeSet<Integer>> matches = new ArrayList<>();
+
+        for (String keyword : keywords) {
+            boolean isPrefix = keyword.endsWith(PREFIX_WILDCARD);
+            for (String token : tokenize(keyword)) {
+                matches.add(isPrefix && keyword.endsWith(token + PREFIX_WILDCARD)
+                        ? findPrefix(token)
+                        : postings.getOrDefault(token, new TreeSet<>()));
+            }
+        }
+
+        if (matches.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // intersect starting from the smallest set so work is bounded by the rarest keyword
+        matches.sort(Comparator.comparingInt(TreeSet::size));
+        ArrayList<Integer> result = new ArrayList<>();
+        for (Integer id : matches.get(0)) {
+            if (matches.stream().allMatch(taskIds -> taskIds.contains(id))) {
+                result.add(id);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds ids of tasks with a token starting with prefix.
+     *
+     * @param prefix Prefix to match.
+     * @return Ids of matching tasks.
+     */
+    private TreeSet<Integer> findPrefix(String prefix) {
+        TreeSet<Integer> result = new TreeSet<>();
+        Map<String, TreeSet<Integer>> matches = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+
+        for (TreeSet<Integer> taskIds : matches.values()) {
+            result.addAll(taskIds);
+        }
+
+        return result;
+    }
+
+    private void updateLiveCount(int id, int delta) {
+        for (int i = id + 1; i < liveCounts.length; i += i & -i) {
+            liveCounts[i] += delta;
+        }
+    }
+
+    /**
+     * Rebuilds Fenwick tree from live tasks in linear time.
+     *
+     * @param capacity Size of new tree.
+     */
+    private void rebuildLiveCounts(int capacity) {
+        liveCounts = new int[capacity];
+
+        for (int i = 1; i <= tasksById.size(); i++) {
+            liveCounts[i] += tasksById.get(i - 1) == null ? 0 : 1;
+            int parent = i + (i & -i);
+            if (parent < capacity) {
+                liveCounts[parent] += liveCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Reassigns ids to live tasks, dropping removed tasks.
+     */
+    private void compact() {
+        ArrayList<Task> liveTasks = new ArrayList<>(ids.size());
+        for (Task task : tasksById) {
+            if (task != null) {
+                liveTasks.add(task);
+            }
+        }
+
+        postings.clear();
+        ids.clear();
+        tasksById.clear();
+        liveCounts = new int[Math.max(16, Integer.highestOneBit(liveTasks.size()) * 4)];
+
+        for (Task task : liveTasks) {
+            add(task);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package bibo.task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Represents an immutable list of tasks, stored as a persistent vector.
+ * Tasks are kept in a tree of 32-slot arrays, with the last partial array held separately as a tail.
+ * Appending copies only the tail, and replacing a task copies only the arrays on its path,
+ * so every change shares all other arrays with the vector it was made from.
+ * Old vectors therefore stay valid and unchanged, and can be read from any thread without locking.
+ */
+final class TaskVector extends AbstractList<Task> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final TaskVector EMPTY = new TaskVector(new Object[WIDTH], BITS, 0, new Object[0]);
+
+    // internal nodes hold child arrays, leaves at level 0 hold tasks
+    private final Object[] root;
+    // number of index bits consumed below the root
+    private final int shift;
+    private final int size;
+    private final Object[] tail;
+
+    private TaskVector(Object[] root, int shift, int size, Object[] tail) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+        this.tail = tail;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        return (Task) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Gets index of the first task in the tail. Tasks before it are in the tree.
+     *
+     * @return Offset of tail.
+     */
+    private int getTailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= getTailOffset()) {
+            return tail;
+        }
+
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * Creates vector with task added to the end.
+     *
+     * @param task Task to add.
+     * @return New vector.
+     */
+    TaskVector append(Task task) {
+        if (size - getTailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = task;
+            return new TaskVector(root, shift, size + 1, newTail);
+        }
+
+        // tail is full, so it moves into the tree, which grows a level once the root is full
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+
+        return new TaskVector(newRoot, newShift, size + 1, new Object[] { task });
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] leaf) {
+        Object[] node = parent.clone();
+        int slot = ((size - 1) >>> level) & MASK;
+
+        if (level == BITS) {
+            node[slot] = leaf;
+        } else {
+            Object[] child = (Object[]) parent[slot];
+            node[slot] = child == null
+                    ? newPath(level - BITS, leaf)
+                    : pushTail(level - BITS, child, leaf);
+        }
+        return node;
+    }
+
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Creates vector with the task at an index replaced.
+     *
+     * @param index Index of task.
+     * @param task Task to put at index.
+     * @return New vector.
+     */
+    TaskVector replace(int index, Task task) {
+        Objects.checkIndex(index, size);
+
+        if (index >= getTailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = task;
+            return new TaskVector(root, shift, size, newTail);
+        }
+
+        return new TaskVector(replace(root, shift, index, task), shift, size, tail);
+    }
+
+    private static Object[] replace(Object[] parent, int level, int index, Task task) {
+        Object[] node = parent.clone();
+        int slot = (index >>> level) & MASK;
+
+        node[slot] = level == 0 ? task : replace((Object[]) parent[slot], level - BITS, index, task);
+        return node;
+    }
+
+    /**
+     * Creates vector without the tasks at the given indices, keeping the order of remaining tasks.
+     * Leaves before the first removed task are shared; the rest of the vector is rebuilt.
+     *
+     * @param indices Indices of tasks to remove.
+     * @return New vector.
+     */
+    TaskVector removeIndices(BitSet indices) {
+        int first = indices.nextSetBit(0);
+        if (first < 0 || first >= size) {
+            return this;
+        }
+
+        ArrayList<Object[]> leaves = new ArrayList<>();
+        int newSize = 0;
+        while (newSize + WIDTH <= Math.min(first, getTailOffset())) {
+            leaves.add(leafFor(newSize));
+            newSize += WIDTH;
+        }
+
+        Object[] leaf = new Object[WIDTH];
+        for (int i = newSize; i < size; i++) {
+            if (indices.get(i)) {
+                continue;
+            }
+
+            leaf[newSize++ & MASK] = leafFor(i)[i & MASK];
+            if ((newSize & MASK) == 0) {
+                leaves.add(leaf);
+                leaf = new Object[WIDTH];
+            }
+        }
+
+        if (newSize == 0) {
+            return EMPTY;
+        }
+
+        Object[] newTail = (newSize & MASK) == 0
+                ? leaves.remove(leaves.size() - 1)
+                : Arrays.copyOf(leaf, newSize & MASK);
+        return build(leaves, newSize, newTail);
+    }
+
+    /**
+     * Builds tree bottom up over full leaves.
+     *
+     * @param leaves Full leaves, in order.
+     * @param size Number of tasks, including tail.
+     * @param tail Tail of vector.
+     * @return New vector.
+     */
+    private static TaskVector build(List<Object[]> leaves, int size, Object[] tail) {
+        int shift = BITS;
+        while (leaves.size() > (1 << shift)) {
+            shift += BITS;
+        }
+
+        List<Object[]> nodes = leaves;
+        for (int level = BITS; level <= shift; level += BITS) {
+            ArrayList<Object[]> parents = new ArrayList<>((nodes.size() + MASK) >>> BITS);
+            for (int i = 0; i < nodes.size(); i += WIDTH) {
+                Object[] parent = new Object[WIDTH];
+                for (int j = 0; j < WIDTH && i + j < nodes.size(); j++) {
+                    parent[j] = nodes.get(i + j);
+                }
+                parents.add(parent);
+            }
+            nodes = parents;
+        }
+
+        Object[] root = nodes.isEmpty() ? new Object[WIDTH] : nodes.get(0);
+        return new TaskVector(root, shift, size, tail);
+    }
+}
@@ -0,0 +1,153 @@
+package bibo.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+import bibo.exceptions.TaskFormatException;
+import bibo.task.Deadline;
+import bibo.task.Event;
+import bibo.task.Task;
+import bibo.task.Todo;
+
+/**
+ * Utility class for encoding and decoding task lists in the binary snapshot format.
+ * A snapshot is a magic number, a format version and a task count, followed by one record per task.
+ * Each record is a type byte, a done flag, a length-prefixed UTF-8 description and
+ * date times as epoch seconds.
+ */
+public class BinarySnapshot {
+    private static final int MAGIC = 0x4249424f; // "BIBO"
+    private static final int VERSION = 1;
+    // far longer than any description typed as a command, so a corrupted length cannot exhaust memory
+    private static final int MAX_DESCRIPTION_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * Encodes tasks as a binary snapshot.
+     *
+     * @param tasks Tasks to encode.
+     * @return Encoded snapshot.
+     */
+    public static byte[] encode(List<Task> tasks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tasks.size() * 32 + 12);
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tasks.size());
+
+            for (Task task : tasks) {
+                writeTask(out, task);
+            }
+        } catch (IOException e) {
+            // writing to memory does not fail
+            throw new AssertionError(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static void writeTask(DataOutputStream out, Task task) throws IOException {
+        if (task instanceof Deadline) {
+            out.writeByte('D');
+        } else if (task instanceof Event) {
+            out.writeByte('E');
+        } else {
+            out.writeByte('T');
+        }
+
+        out.writeBoolean(task.isDone());
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+
+        if (task instanceof Deadline) {
+            out.writeLong(toEpochSecond(((Deadline) task).getBy()));
+        } else if (task instanceof Event) {
+            out.writeLong(toEpochSecond(((Event) task).getStart()));
+            out.writeLong(toEpochSecond(((Event) task).getEnd()));
+        }
+    }
+
+    /**
+     * Decodes tasks from a binary snapshot.
+     * Decoding stops at the first record that cannot be read, so a truncated snapshot
+     * yields fewer tasks than its task count.
+     *
+     * @param in Stream to read snapshot from.
+     * @param consumer Consumer of each decoded task, in snapshot order.
+     * @return Task count recorded in snapshot.
+     * @throws TaskFormatException If stream is not a snapshot of a supported version.
+     * @throws IOException If an error occurs while reading the stream.
+     */
+    public static int decode(DataInputStream in, Consumer<Task> consumer) throws TaskFormatException, IOException {
+        int count;
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new TaskFormatException("Unsupported task snapshot format.");
+            }
+            count = in.readInt();
+        } catch (EOFException e) {
+            throw new TaskFormatException("Unsupported task snapshot format.");
+        }
+
+        try {
+            for (int i = 0; i < count; i++) {
+                consumer.accept(readTask(in));
+            }
+        } catch (EOFException | TaskFormatException | DateTimeException e) {
+            // remaining records are unreadable and are reported through the returned count
+        }
+
+        return count;
+    }
+
+    private static Task readTask(DataInputStream in) throws TaskFormatException, IOException {
+        byte type = in.readByte();
+        boolean isDone = in.readBoolean();
+        int length = in.readInt();
+
+        if (length <= 0 || length > MAX_DESCRIPTION_LENGTH) {
+            throw new TaskFormatException();
+        }
+
+        byte[] description = new byte[length];
+        in.readFully(description);
+        String text = new String(description, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (type) {
+        case 'T':
+            task = new Todo(text);
+            break;
+        case 'D':
+            task = new Deadline(text, fromEpochSecond(in.readLong()));
+            break;
+        case 'E':
+            task = new Event(text, fromEpochSecond(in.readLong()), fromEpochSecond(in.readLong()));
+            break;
+        default:
+            throw new TaskFormatException(
+                TaskFormatException.ErrorType.UNKNOWN_TASK_TYPE.toString()
+            );
+        }
+
+        return isDone ? task.withStatus(true) : task;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -1,14 +1,243 @@
 package bibo.utils;
 
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import bibo.exceptions.TaskFormatException;
+import bibo.task.Deadline;
+import bibo.task.Event;
+import bibo.task.Task;
+import bibo.task.Todo;
 
 /**
  * Parses data from file.
  */
 public class FileParser {
+    private static final Pattern TASK_DATA_PATTERN =
+        Pattern.compile("^\\[(?<taskType>[TDE])\\]\\[(?<isDone>[X ])\\] (?<taskData>[\\S]+.*)$");
+    private static final String DEADLINE_TOKEN = " /by ";
+    private static final String EVENT_START_TOKEN = " /from ";
+    private static final String EVENT_END_TOKEN = " /to ";
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+    // length of "dd MMM yyyy hh:mm a"
+    private static final int DATE_TIME_LENGTH = 20;
+    // number of lines below which a chunk is decoded on the current thread
+    private static final int CHUNK_SIZE = 2048;
+
+    /**
+     * Represents a chunk of task data lines decoded by a fork/join task.
+     * Large chunks are split in half until they are small enough to decode directly.
+     */
+    private static class ChunkDecoder extends RecursiveAction {
+        private final String[] taskData;
+        private final Task[] tasks;
+        private final TaskFormatException[] errors;
+        private final int start;
+        private final int end;
+
+        ChunkDecoder(String[] taskData, Task[] tasks, TaskFormatException[] errors, int start, int end) {
+            this.taskData = taskData;
+            this.tasks = tasks;
+            this.errors = errors;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= CHUNK_SIZE) {
+                for (int i = start; i < end; i++) {
+                    try {
+                        tasks[i] = parseTask(taskData[i]);
+                    } catch (TaskFormatException e) {
+                        errors[i] = e;
+                    }
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new ChunkDecoder(taskData, tasks, errors, start, middle),
+                    new ChunkDecoder(taskData, tasks, errors, middle, end));
+        }
+    }
+
+    /**
+     * Decodes lines of the task list file in parallel chunks.
+     * Decoded tasks keep the order of their lines.
+     *
+     * @param taskData Task data from file.
+     * @param errors Array of the same length as task data, filled with the error for each line that
+     *     could not be decoded.
+     * @return Decoded tasks, with null for each line that could not be decoded.
+     */
+    public static Task[] parseTasks(String[] taskData, TaskFormatException[] errors) {
+        assert errors.length == taskData.length : "Errors should have one slot per line";
+
+        Task[] tasks = new Task[taskData.length];
+        ForkJoinPool.commonPool().invoke(new ChunkDecoder(taskData, tasks, errors, 0, taskData.length));
+        return tasks;
+    }
+
+    /**
+     * Decodes task from a line of the task list file in a single pass.
+     * Format of line is expected to be "[&lt;type&gt;][&lt;done&gt;] &lt;task data&gt;".
+     *
+     * @param taskData Task data from file.
+     * @return Decoded task.
+     * @throws TaskFormatException If task data format is invalid.
+     */
+    public static Task parseTask(String taskData) throws TaskFormatException {
+        if (taskData.length() < 8 || taskData.charAt(0) != '[' || taskData.charAt(2) != ']'
+                || taskData.charAt(3) != '[' || taskData.charAt(5) != ']' || taskData.charAt(6) != ' '
+                || Character.isWhitespace(taskData.charAt(7))) {
+            throw new TaskFormatException();
+        }
+
+        char isDone = taskData.charAt(4);
+        if (isDone != 'X' && isDone != ' ') {
+            throw new TaskFormatException();
+        }
+
+        Task task;
+        switch (taskData.charAt(1)) {
+        case 'T':
+            task = new Todo(taskData.substring(7));
+            break;
+        case 'D':
+            task = parseDeadline(taskData);
+            break;
+        case 'E':
+            task = parseEvent(taskData);
+            break;
+        default:
+            throw new TaskFormatException(
+                TaskFormatException.ErrorType.UNKNOWN_TASK_TYPE.toString()
+            );
+        }
+
+        return isDone == 'X' ? task.withStatus(true) : task;
+    }
+
+    /**
+     * Decodes deadline from task data in the format "[D][&lt;done&gt;] &lt;description&gt; /by &lt;date time&gt;".
+     *
+     * @param taskData Task data from file.
+     * @return Decoded deadline.
+     * @throws TaskFormatException If deadline format is invalid.
+     */
+    private static Deadline parseDeadline(String taskData) throws TaskFormatException {
+        int byIndex = taskData.indexOf(DEADLINE_TOKEN, 7);
+
+        if (byIndex < 0 || taskData.indexOf(DEADLINE_TOKEN, byIndex + 1) >= 0) {
+            throw new TaskFormatException(
+                TaskFormatException.ErrorType.DEADLINE_TOKEN.toString()
+            );
+        }
+
+        String description = taskData.substring(7, byIndex);
+        LocalDateTime by = parseDateTime(taskData, byIndex + DEADLINE_TOKEN.length(), taskData.length());
+
+        return new Deadline(description, by);
+    }
+
+    /**
+     * Decodes event from task data in the format
+     * "[E][&lt;done&gt;] &lt;description&gt; /from &lt;date time&gt; /to &lt;date time&gt;".
+     *
+     * @param taskData Task data from file.
+     * @return Decoded event.
+     * @throws TaskFormatException If event format is invalid.
+     */
+    private static Event parseEvent(String taskData) throws TaskFormatException {
+        int fromIndex = taskData.indexOf(EVENT_START_TOKEN, 7);
+        int toIndex = fromIndex < 0 ? -1 : taskData.indexOf(EVENT_END_TOKEN, fromIndex + 1);
+
+        if (toIndex < 0 || taskData.indexOf(EVENT_START_TOKEN, fromIndex + 1) >= 0
+                || taskData.indexOf(EVENT_END_TOKEN, toIndex + 1) >= 0) {
+            throw new TaskFormatException(
+                TaskFormatException.ErrorType.EVENT_TOKEN.toString()
+            );
+        }
+
+        String description = taskData.substring(7, fromIndex);
+        LocalDateTime start = parseDateTime(taskData, fromIndex + EVENT_START_TOKEN.length(), toIndex);
+        LocalDateTime end = parseDateTime(taskData, toIndex + EVENT_END_TOKEN.length(), taskData.length());
+
+        if (start.isAfter(end)) {
+            throw new TaskFormatException(
+                TaskFormatException.ErrorType.DATE_TIME_INVALID.toString()
+            );
+        }
+
+        return new Event(description, start, end);
+    }
+
+    /**
+     * Decodes date and time written in the task list file format "dd MMM yyyy hh:mm a".
+     * Falls back to {@link DateTimeUtil} if the text is in any other format.
+     *
+     * @param text Text containing date and time.
+     * @param start Index of first character of date and time.
+     * @param end Index after last character of date and time.
+     * @return Decoded date and time.
+     * @throws TaskFormatException If date and time format is invalid.
+     */
+    private static LocalDateTime parseDateTime(String text, int start, int end) throws TaskFormatException {
+        if (end - start == DATE_TIME_LENGTH && text.charAt(start + 2) == ' ' && text.charAt(start + 6) == ' '
+                && text.charAt(start + 11) == ' ' && text.charAt(start + 14) == ':'
+                && text.charAt(start + 17) == ' ' && text.charAt(start + 19) == 'M') {
+            int day = parseDigits(text, start, start + 2);
+            int month = parseMonth(text, start + 3);
+            int year = parseDigits(text, start + 7, start + 11);
+            int hour = parseDigits(text, start + 12, start + 14);
+            int minute = parseDigits(text, start + 15, start + 17);
+            char amPm = text.charAt(start + 18);
+
+            if (day >= 0 && month > 0 && year >= 0 && hour >= 1 && hour <= 12 && minute >= 0
+                    && (amPm == 'A' || amPm == 'P')) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour % 12 + (amPm == 'P' ? 12 : 0), minute);
+                } catch (DateTimeException e) {
+                    throw new TaskFormatException();
+                }
+            }
+        }
+
+        try {
+            return DateTimeUtil.parseDateTime(text.substring(start, end))[0];
+        } catch (DateTimeException e) {
+            throw new TaskFormatException();
+        }
+    }
+
+    private static int parseDigits(String text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int parseMonth(String text, int start) {
+        for (int i = 0; i < MONTHS.length; i++) {
+            if (text.startsWith(MONTHS[i], start)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Parses task data from file.
      *
@@ -21,9 +250,7 @@ public class FileParser {
         String isDone = "false";
 
         // using regex to parse
-        String regex = "^\\[(?<taskType>[TDE])\\]\\[(?<isDone>[X ])\\] (?<taskData>[\\S]+.*)$";
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(taskData);
+        Matcher matcher = TASK_DATA_PATTERN.matcher(taskData);
 
         try {
             if (matcher.find()) {
@@ -1,6 +1,7 @@
 package bibo.utils;
 
 import java.util.Arrays;
+import java.util.BitSet;
 
 import bibo.Command.CommandType;
 import bibo.exceptions.ListIndexException;
@@ -73,6 +74,24 @@ public class InputParser {
         return args;
     }
 
+    /**
+     * Parses date range from user input in the format "DATE/TIME /to DATE/TIME".
+     *
+     * @param input User input.
+     * @return Start and end date time strings.
+     * @throws TaskFormatException If date range format is invalid.
+     */
+    public static String[] parseDateRange(String input) throws TaskFormatException {
+        String[] args = input.trim().split(" /to ");
+        if (args.length != 2 || Arrays.stream(args).anyMatch(String::isBlank)) {
+            throw new TaskFormatException(
+                TaskFormatException.ErrorType.RANGE_TOKEN.toString()
+            );
+        }
+
+        return new String[] { args[0].trim(), args[1].trim() };
+    }
+
     /**
      * Parses task list index from user input.
      *
@@ -91,6 +110,35 @@ public class InputParser {
         }
     }
 
+    /**
+     * Parses task list indices from user input.
+     * Indices are separated by commas, and "FIRST-LAST" selects a range of indices.
+     *
+     * @param input User input, e.g. "1-3,7,9".
+     * @param size Size of task list.
+     * @return Selected zero-based indices.
+     * @throws ListIndexException If an index is invalid or outside the task list.
+     */
+    public static BitSet parseTaskIndices(String input, int size) throws ListIndexException {
+        BitSet indices = new BitSet(size);
+
+        for (String selection : input.split(",")) {
+            String[] range = selection.trim().split("\\s*-\\s*", 2);
+            int first = parseTaskIndex(range[0]);
+            int last = range.length == 1 ? first : parseTaskIndex(range[1]);
+
+            if (first < 1 || last < first || last > size) {
+                throw new ListIndexException(
+                    ListIndexException.ErrorType.INVALID_INDEX.toString()
+                );
+            }
+
+            indices.set(first - 1, last);
+        }
+
+        return indices;
+    }
+
     /**
      * Parses note description from user input.
      * If no content flag is present, whole input is considered as note description.
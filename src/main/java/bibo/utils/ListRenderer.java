@@ -0,0 +1,221 @@
+package bibo.utils;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import bibo.exceptions.ListIndexException;
+
+/**
+ * Utility class for rendering numbered lists in a single pass.
+ */
+public class ListRenderer {
+    /** Number of items shown per page when no page size is given. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    private static final String PAGE_SIZE_FLAG = "--page-size";
+
+    /**
+     * Appends a numbered line for an item.
+     *
+     * @param out   Builder to append to.
+     * @param index Zero-based index of item in its list.
+     * @param item  Item to render.
+     * @return Builder appended to.
+     */
+    public static StringBuilder renderLine(StringBuilder out, int index, Object item) {
+        return out.append(index + 1).append(". ").append(item);
+    }
+
+    /**
+     * Appends numbered lines for a window of items, separated by newlines.
+     *
+     * @param out   Builder to append to.
+     * @param items Items to render.
+     * @param start Zero-based index of first item to render, inclusive.
+     * @param end   Zero-based index of last item to render, exclusive.
+     * @return Builder appended to.
+     */
+    public static StringBuilder render(StringBuilder out, List<?> items, int start, int end) {
+        assert start >= 0 && end <= items.size() : "Render window should be within list";
+
+        for (int i = start; i < end; i++) {
+            if (i > start) {
+                out.append('\n');
+            }
+            renderLine(out, i, items.get(i));
+        }
+        return out;
+    }
+
+    /**
+     * Appends numbered lines for all items, separated by newlines.
+     *
+     * @param out   Builder to append to.
+     * @param items Items to render.
+     * @return Builder appended to.
+     */
+    public static StringBuilder render(StringBuilder out, List<?> items) {
+        return render(out, items, 0, items.size());
+    }
+
+    /**
+     * Selects one page of items, to be rendered later.
+     *
+     * @param items    Items to page through.
+     * @param page     One-based page number.
+     * @param pageSize Number of items per page.
+     * @param command  Command that shows further pages, used to prompt for the next page.
+     * @return Page of items.
+     * @throws ListIndexException If page does not exist.
+     */
+    public static Page getPage(List<?> items, int page, int pageSize, String command) throws ListIndexException {
+        if ((long) (page - 1) * pageSize >= items.size()) {
+            throw new ListIndexException(
+                ListIndexException.ErrorType.INDEX_OUT_OF_BOUNDS.toString()
+            );
+        }
+
+        return new Page(items, page, pageSize, command);
+    }
+
+    /**
+     * Parses page arguments in the format "[PAGE] [--page-size SIZE]".
+     *
+     * @param args Arguments to parse.
+     * @return Parsed {page, pageSize}.
+     * @throws ListIndexException If page or page size is not a positive number.
+     */
+    public static int[] parsePageArgs(String args) throws ListIndexException {
+        int page = 1;
+        int pageSize = DEFAULT_PAGE_SIZE;
+        String[] tokens = args.trim().split("\\s+");
+
+        try {
+            for (int i = 0; i < tokens.length; i++) {
+                if (tokens[i].equals(PAGE_SIZE_FLAG) && i + 1 < tokens.length) {
+                    pageSize = Integer.parseInt(tokens[++i]);
+                } else if (!tokens[i].isEmpty()) {
+                    page = Integer.parseInt(tokens[i]);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new ListIndexException(
+                ListIndexException.ErrorType.INVALID_INDEX.toString()
+            );
+        }
+
+        if (page < 1 || pageSize < 1) {
+            throw new ListIndexException(
+                ListIndexException.ErrorType.INVALID_INDEX.toString()
+            );
+        }
+
+        return new int[] { page, pageSize };
+    }
+
+    /**
+     * Represents one page of a list. Only items on the page are rendered, and only when it is converted to a string.
+     */
+    public static final class Page {
+        private final List<?> items;
+        private final int page;
+        private final int pageSize;
+        private final String command;
+        private final int start;
+        private final int end;
+
+        private Page(List<?> items, int page, int pageSize, String command) {
+            this.items = items;
+            this.page = page;
+            this.pageSize = pageSize;
+            this.command = command;
+            this.start = (page - 1) * pageSize;
+            this.end = (int) Math.min(items.size(), (long) start + pageSize);
+        }
+
+        /**
+         * Gets command that shows the page after this one.
+         *
+         * @return Command for next page, or null if this is the last page.
+         */
+        public String getNextPageCommand() {
+            if (end == items.size()) {
+                return null;
+            }
+
+            StringBuilder nextPageCommand = new StringBuilder(command).append(' ').append(page + 1);
+            if (pageSize != DEFAULT_PAGE_SIZE) {
+                nextPageCommand.append(' ').append(PAGE_SIZE_FLAG).append(' ').append(pageSize);
+            }
+            return nextPageCommand.toString();
+        }
+
+        /**
+         * Renders numbered lines for items on the page, followed by a summary of the page
+         * if the list does not fit on one page.
+         */
+        @Override
+        public String toString() {
+            StringBuilder out = render(new StringBuilder(), items, start, end);
+
+            if (start == 0 && end == items.size()) {
+                return out.toString();
+            }
+
+            out.append("\n\nShowing ").append(start + 1).append('-').append(end)
+                    .append(" of ").append(items.size()).append('.');
+
+            String nextPageCommand = getNextPageCommand();
+            if (nextPageCommand != null) {
+                out.append("\nEnter \"").append(nextPageCommand).append("\" to see more.");
+            }
+
+            return out.toString();
+        }
+    }
+
+    /**
+     * Represents numbered lines for items that may be anywhere in their list.
+     * Lines are rendered when read, so finding items stays separate from rendering them.
+     */
+    public static final class Lines extends AbstractList<String> {
+        private final List<?> items;
+        private final int[] indices;
+
+        /**
+         * Constructs lines for items.
+         *
+         * @param items   Items to render.
+         * @param indices Zero-based index of each item in its list.
+         */
+        public Lines(List<?> items, int[] indices) {
+            assert items.size() == indices.length : "Each item should have an index";
+            this.items = items;
+            this.indices = indices;
+        }
+
+        @Override
+        public String get(int index) {
+            return renderLine(new StringBuilder(), indices[index], items.get(index)).toString();
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        /**
+         * Renders all lines, separated by newlines.
+         */
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < indices.length; i++) {
+                if (i > 0) {
+                    out.append('\n');
+                }
+                renderLine(out, indices[i], items.get(i));
+            }
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package bibo.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import bibo.Command.CommandType;
+
+/**
+ * Represents counters and latency histograms for commands and storage.
+ * All recording is lock-free, so metrics can be recorded from any thread on the hot path.
+ */
+public class Metrics {
+    /**
+     * Represents the stages of running a command that are timed.
+     */
+    public enum Stage {
+        EXECUTE, PERSIST, RENDER
+    }
+
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private final EnumMap<CommandType, EnumMap<Stage, LatencyHistogram>> commandLatencies =
+            new EnumMap<>(CommandType.class);
+    private final EnumMap<CommandType, LongAdder> commandErrors = new EnumMap<>(CommandType.class);
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+    /**
+     * Constructs empty metrics.
+     * Every histogram is created up front, so recording never changes the maps.
+     */
+    public Metrics() {
+        for (CommandType cmd : CommandType.values()) {
+            EnumMap<Stage, LatencyHistogram> latencies = new EnumMap<>(Stage.class);
+            for (Stage stage : Stage.values()) {
+                latencies.put(stage, new LatencyHistogram());
+            }
+            commandLatencies.put(cmd, latencies);
+            commandErrors.put(cmd, new LongAdder());
+        }
+    }
+
+    /**
+     * Records duration of a stage of a command.
+     *
+     * @param cmd Command run.
+     * @param stage Stage of command.
+     * @param nanos Duration in nanoseconds.
+     */
+    public void recordCommand(CommandType cmd, Stage stage, long nanos) {
+        commandLatencies.get(cmd).get(stage).record(nanos);
+    }
+
+    /**
+     * Records a command that failed, along with how long it ran.
+     *
+     * @param cmd Command run.
+     * @param nanos Duration in nanoseconds.
+     */
+    public void recordError(CommandType cmd, long nanos) {
+        recordCommand(cmd, Stage.EXECUTE, nanos);
+        commandErrors.get(cmd).increment();
+    }
+
+    /**
+     * Records duration of loading the task list from file.
+     *
+     * @param nanos Duration in nanoseconds.
+     */
+    public void recordLoad(long nanos) {
+        loadLatency.record(nanos);
+    }
+
+    /**
+     * Records duration of writing changes to file.
+     *
+     * @param nanos Duration in nanoseconds.
+     */
+    public void recordWrite(long nanos) {
+        writeLatency.record(nanos);
+    }
+
+    /**
+     * Gets number of times a command has run.
+     *
+     * @param cmd Command.
+     * @return Number of runs, including failed runs.
+     */
+    public long getCount(CommandType cmd) {
+        return commandLatencies.get(cmd).get(Stage.EXECUTE).getCount();
+    }
+
+    /**
+     * Writes metrics to a file, replacing it through a temporary file so readers never see a partial dump.
+     *
+     * @param path Path of file.
+     * @throws IOException if an error occurs while writing the file.
+     */
+    public void dump(Path path) throws IOException {
+        Path tempPath = Paths.get(path + ".tmp");
+        Files.write(tempPath, (toString() + "\n").getBytes(StandardCharsets.UTF_8));
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static StringBuilder appendLatency(StringBuilder out, String name, LatencyHistogram latency) {
+        return out.append(name).append(' ')
+                .append(latency.getPercentile(0.5) / NANOS_PER_MICRO).append('/')
+                .append(latency.getPercentile(0.99) / NANOS_PER_MICRO).append('/')
+                .append(latency.getMax() / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Renders metrics of commands that have run and of storage, with latencies as
+     * median/99th percentile/maximum in microseconds.
+     *
+     * @return Rendered metrics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("Latencies are median/p99/max in microseconds.");
+
+        for (CommandType cmd : CommandType.values()) {
+            long count = getCount(cmd);
+            if (count == 0) {
+                continue;
+            }
+
+            out.append('\n').append(cmd.name().toLowerCase()).append(": ")
+                    .append(count).append(count == 1 ? " run, " : " runs, ")
+                    .append(commandErrors.get(cmd).sum()).append(" errors");
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram latency = commandLatencies.get(cmd).get(stage);
+                if (latency.getCount() > 0) {
+                    appendLatency(out.append(" | "), stage.name().toLowerCase(), latency);
+                }
+            }
+        }
+
+        appendLatency(out.append("\nstorage: ").append(loadLatency.getCount()).append(" loads | "),
+                "load", loadLatency);
+        appendLatency(out.append(" | ").append(writeLatency.getCount()).append(" writes | "),
+                "write", writeLatency);
+        return out.toString();
+    }
+}
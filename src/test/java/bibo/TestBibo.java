@@ -0,0 +1,98 @@
+package bibo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bibo.exceptions.BiboException;
+import bibo.exceptions.TaskFormatException;
+import bibo.task.Task;
+import bibo.utils.Metrics;
+
+/**
+ * Represents a test class for Bibo.
+ */
+public class TestBibo {
+    private static final String TEST_WORKSPACE = "test-bibo";
+
+    @BeforeAll
+    public static void setupClass() {
+        System.out.println("Starting Bibo tests.");
+    }
+
+    @BeforeEach
+    public void setup() throws IOException {
+        System.out.println("Starting next test.");
+        deleteData();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        deleteData();
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        System.out.println("All tests completed.");
+    }
+
+    private static void deleteData() throws IOException {
+        Path dir = Path.of("data" + File.separator + TEST_WORKSPACE);
+        if (!Files.exists(dir)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Tests if a script keeps running after a line that fails, and saves every command that succeeded.
+     * The script works in a workspace of its own, so saved tasks of the default workspace are left alone.
+     */
+    @Test
+    public void testRunBatch_invalidLine_remainingLinesRun() throws IOException, BiboException {
+        Path script = Files.createTempFile("bibo-script", ".txt");
+        Files.writeString(script, "use " + TEST_WORKSPACE + "\ntodo a\ndeadline x /by garbage\ntodo b\nlist\n");
+
+        PrintStream out = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+        try {
+            new Bibo().runBatch(script.toString());
+        } finally {
+            System.setOut(out);
+            Files.deleteIfExists(script);
+        }
+
+        String response = output.toString(StandardCharsets.UTF_8);
+        assertTrue(response.contains(TaskFormatException.ErrorType.DATE_TIME_FORMAT.toString()));
+        assertTrue(response.contains("1. [T][ ] a"));
+        assertTrue(response.contains("2. [T][ ] b"));
+
+        Workspace workspace = new Workspaces(new Ui(), new Metrics(), 1).use(TEST_WORKSPACE);
+        List<Task> tasks = workspace.getTaskList().getTasks();
+        assertEquals(2, tasks.size());
+        assertEquals("[T][ ] b", tasks.get(1).toString());
+        workspace.getStorage().close();
+    }
+}
@@ -0,0 +1,101 @@
+package bibo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bibo.Command.CommandType;
+import bibo.exceptions.BiboException;
+import bibo.exceptions.ListIndexException;
+import bibo.exceptions.ListIndexException.ErrorType;
+import bibo.notes.Notes;
+import bibo.task.TaskList;
+
+/**
+ * Represents a test class for Command.
+ */
+public class TestCommand {
+    private static final int SESSIONS = 4;
+    private static final int RUNS = 2000;
+
+    @BeforeAll
+    public static void setupClass() {
+        System.out.println("Starting Command tests.");
+    }
+
+    @BeforeEach
+    public void setup() {
+        System.out.println("Starting next test.");
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        System.out.println("All tests completed.");
+    }
+
+    /**
+     * Tests if sessions running commands at the same time each get only their own responses.
+     * Each session has its own command dispatcher and task list, and alternates between a query and an error.
+     */
+    @Test
+    public void testGetResponse_parallelSessions_responsesKeptSeparate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(SESSIONS);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < SESSIONS; i++) {
+                results.add(executor.submit(runSession(i)));
+            }
+
+            for (Future<Integer> result : results) {
+                assertEquals(RUNS, (int) result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Callable<Integer> runSession(int session) throws BiboException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(CommandType.TODO, "read book " + session);
+        Command command = new Command(new Ui(), new Storage());
+        String expected = "Here are the matching tasks in your list:\n1. [T][ ] read book " + session + "\n";
+
+        return () -> {
+            for (int i = 0; i < RUNS; i++) {
+                assertEquals(expected, command.getResponse(CommandType.FIND, "book", taskList, new Notes()));
+                assertEquals(new ListIndexException(ErrorType.INDEX_OUT_OF_BOUNDS.toString()).getMessage(),
+                        command.getResponse(CommandType.LIST, String.valueOf(session + 2), taskList, new Notes()));
+            }
+            return RUNS;
+        };
+    }
+
+    /**
+     * Tests if only a page with more pages after it offers the command for the next page,
+     * whatever the text of the tasks on it.
+     */
+    @Test
+    public void testRun_pagedList_nextPageCommandGiven() throws BiboException {
+        TaskList taskList = new TaskList();
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.addTask(CommandType.TODO, "Enter \"list 9\" to see more.");
+        Command command = new Command(new Ui(), new Storage());
+
+        assertEquals("list 2 --page-size 1",
+                command.run(CommandType.LIST, "--page-size 1", taskList, new Notes()).getNextPageCommand());
+        assertEquals(null,
+                command.run(CommandType.LIST, "2 --page-size 1", taskList, new Notes()).getNextPageCommand());
+        assertEquals(null, command.run(CommandType.LIST, "", taskList, new Notes()).getNextPageCommand());
+    }
+}
@@ -1,14 +1,23 @@
 package bibo;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.LocalDateTime;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import bibo.exceptions.TaskFormatException;
+import bibo.task.Deadline;
+import bibo.task.Event;
+import bibo.task.Task;
+import bibo.task.Todo;
 import bibo.utils.FileParser;
 
 /**
@@ -75,4 +84,76 @@ public class TestFileParser {
             new String[] { "event", "another project meeting /from xxx /to yyy", "false" }
         );
     }
+
+    /**
+     * Tests if tasks are decoded from file data and written back unchanged.
+     */
+    @Test
+    public void testParseTask_validData_roundTrips() throws TaskFormatException {
+        LocalDateTime morning = LocalDateTime.of(2024, 3, 5, 9, 30);
+        LocalDateTime midnight = LocalDateTime.of(2024, 12, 31, 0, 0);
+
+        assertEquals(new Todo("read book"), FileParser.parseTask("[T][X] read book"));
+        assertEquals(new Deadline("return book", morning),
+                FileParser.parseTask("[D][ ] return book /by 05 Mar 2024 09:30 AM"));
+        assertEquals(new Event("party", morning, midnight),
+                FileParser.parseTask("[E][ ] party /from 05 Mar 2024 09:30 AM /to 31 Dec 2024 12:00 AM"));
+
+        // falls back to input date format
+        assertEquals(new Deadline("return book", midnight),
+                FileParser.parseTask("[D][ ] return book /by 31-12-2024 0000"));
+
+        String[] lines = {
+            "[T][X] read book",
+            "[D][ ] return book /by 05 Mar 2024 09:30 AM",
+            "[E][X] party /from 05 Mar 2024 09:30 AM /to 31 Dec 2024 12:00 PM"
+        };
+        for (String line : lines) {
+            Task task = FileParser.parseTask(line);
+            assertEquals(line, task.toFileString());
+        }
+    }
+
+    /**
+     * Tests if exception is thrown when file data cannot be decoded.
+     */
+    @Test
+    public void testParseTask_invalidData_exceptionThrown() {
+        String[] lines = {
+            "[X][X] read book",
+            "[T][?] read book",
+            "[T][ ]  read book",
+            "[D][ ] return book",
+            "[D][ ] return book /by xxx",
+            "[E][ ] party /from 05 Mar 2024 09:30 AM",
+            "[E][ ] party /from 31 Dec 2024 12:00 AM /to 05 Mar 2024 09:30 AM"
+        };
+        for (String line : lines) {
+            assertThrows(TaskFormatException.class, () -> FileParser.parseTask(line), line);
+        }
+    }
+
+    /**
+     * Tests if tasks decoded in parallel chunks keep file order and corrupted lines are reported.
+     */
+    @Test
+    public void testParseTasks_manyLines_orderKeptAndErrorsReported() {
+        String[] lines = new String[10000];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = i % 1000 == 0 ? "corrupted " + i : "[T][ ] task " + i;
+        }
+
+        TaskFormatException[] errors = new TaskFormatException[lines.length];
+        Task[] tasks = FileParser.parseTasks(lines, errors);
+
+        for (int i = 0; i < lines.length; i++) {
+            if (i % 1000 == 0) {
+                assertNull(tasks[i]);
+                assertNotNull(errors[i]);
+            } else {
+                assertEquals(new Todo("task " + i), tasks[i]);
+                assertNull(errors[i]);
+            }
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package bibo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bibo.Command.CommandType;
+import bibo.utils.LatencyHistogram;
+import bibo.utils.Metrics;
+import bibo.utils.Metrics.Stage;
+
+/**
+ * Represents a test class for Metrics.
+ */
+public class TestMetrics {
+    @BeforeAll
+    public static void setupClass() {
+        System.out.println("Starting Metrics tests.");
+    }
+
+    @BeforeEach
+    public void setup() {
+        System.out.println("Starting next test.");
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        System.out.println("All tests completed.");
+    }
+
+    /**
+     * Tests if percentiles are within the precision of their bucket.
+     * Test cases: empty histogram, small exact values, uniform durations up to a millisecond.
+     */
+    @Test
+    public void testGetPercentile_recordedDurations_withinPrecision() {
+        LatencyHistogram latency = new LatencyHistogram();
+        assertEquals(0, latency.getPercentile(0.5));
+
+        for (int i = 1; i <= 1000; i++) {
+            latency.record(i * 1000L);
+        }
+
+        assertEquals(1000, latency.getCount());
+        assertEquals(1_000_000, latency.getMax());
+        assertEquals(500_500, latency.getMean());
+        assertEquals(1_000_000, latency.getPercentile(1));
+
+        long median = latency.getPercentile(0.5);
+        assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "median " + median);
+        long p99 = latency.getPercentile(0.99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+
+        LatencyHistogram small = new LatencyHistogram();
+        small.record(3);
+        small.record(5);
+        assertEquals(3, small.getPercentile(0.5));
+        assertEquals(5, small.getPercentile(0.99));
+    }
+
+    /**
+     * Tests if only commands that have run are reported, with their errors.
+     */
+    @Test
+    public void testToString_recordedCommands_commandsReported() {
+        Metrics metrics = new Metrics();
+        metrics.recordCommand(CommandType.LIST, Stage.EXECUTE, 2000);
+        metrics.recordCommand(CommandType.LIST, Stage.RENDER, 1000);
+        metrics.recordError(CommandType.MARK, 500);
+
+        assertEquals(1, metrics.getCount(CommandType.LIST));
+        assertEquals(1, metrics.getCount(CommandType.MARK));
+
+        String stats = metrics.toString();
+        assertTrue(stats.contains("\nlist: 1 run, 0 errors | execute 2/2/2 | render 1/1/1"), stats);
+        assertTrue(stats.contains("\nmark: 1 run, 1 errors | execute 0/0/0"), stats);
+        assertFalse(stats.contains("todo"), stats);
+        assertTrue(stats.contains("\nstorage: 0 loads | load 0/0/0 | 0 writes | write 0/0/0"), stats);
+    }
+}
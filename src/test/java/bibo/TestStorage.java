@@ -2,20 +2,45 @@ package bibo;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import bibo.Command.CommandType;
+import bibo.notes.Notes;
+import bibo.task.Task;
+import bibo.task.TaskList;
+import bibo.utils.BinarySnapshot;
+import bibo.utils.Metrics;
+
 /**
  * Represents a test class for Storage.
  */
 public class TestStorage {
+    private static final String TEST_WORKSPACE = "test-storage";
+    // size of the buffer task data is read through
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final Path TEST_DIR = Paths.get("data" + File.separator + TEST_WORKSPACE);
+
     private static Storage storage;
     private static String filePath;
     private static String dataDir;
@@ -25,6 +50,51 @@ public class TestStorage {
         Files.createFile(Paths.get(filePath));
     }
 
+    /**
+     * Writes task data to a file of its own and reads it back line by line.
+     *
+     * @param data Bytes of task data file.
+     * @return Lines read.
+     */
+    private static List<String> readTaskData(byte[] data) throws Exception {
+        Files.createDirectories(TEST_DIR);
+        Files.write(TEST_DIR.resolve("tasks.txt"), data);
+
+        ArrayList<String> lines = new ArrayList<>();
+        int totalLines = new Storage(false, TEST_DIR.toString()).readTaskData(3, batch -> {
+            lines.addAll(Arrays.asList(batch));
+        });
+        assertEquals(lines.size(), totalLines);
+        return lines;
+    }
+
+    /**
+     * Creates metrics that count writes to file.
+     *
+     * @param writes Counter of writes.
+     * @return Metrics.
+     */
+    private static Metrics countWrites(AtomicInteger writes) {
+        return new Metrics() {
+            @Override
+            public void recordWrite(long nanos) {
+                writes.incrementAndGet();
+            }
+        };
+    }
+
+    private static void deleteTestDir() throws IOException {
+        if (!Files.exists(TEST_DIR)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(TEST_DIR)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
     /**
      * Set up test files.
      */
@@ -58,6 +128,7 @@ public class TestStorage {
 
         try {
             resetTestFile();
+            deleteTestDir();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -74,6 +145,9 @@ public class TestStorage {
         try {
             Files.deleteIfExists(Paths.get(filePath));
             Files.deleteIfExists(Paths.get(filePath + ".corrupted"));
+            Files.deleteIfExists(Paths.get(dataDir, "tasks.bin"));
+            Files.deleteIfExists(Paths.get(dataDir, "notes.txt"));
+            deleteTestDir();
 
             Files.deleteIfExists(Paths.get(dataDir));
         } catch (Exception e) {
@@ -127,4 +201,301 @@ public class TestStorage {
         assertEquals(true, Files.exists(Paths.get(filePath + ".corrupted")));
 
     }
+
+    /**
+     * Tests if tasks saved as a binary snapshot are read back unchanged.
+     */
+    @Test
+    public void testSaveTaskList_binarySnapshot_readBackUnchanged() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.addTask(CommandType.DEADLINE, "return book /by 05-03-2024 0930");
+        taskList.addTask(CommandType.EVENT, "party /from 05-03-2024 0930 /to 31-12-2024 2359");
+        taskList.changeTaskStatus(CommandType.MARK, "2");
+
+        Storage binaryStorage = new Storage();
+        binaryStorage.setBinarySnapshot(true);
+        binaryStorage.saveTaskList(taskList);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        Storage readStorage = new Storage();
+        assertEquals(true, readStorage.hasBinarySnapshot());
+        assertEquals(3, readStorage.readBinaryTaskData(tasks::add));
+        assertEquals(taskList.getTasks(), tasks);
+        assertEquals(taskList.toFileString(), tasks.get(0).toFileString() + "\n"
+                + tasks.get(1).toFileString() + "\n" + tasks.get(2).toFileString());
+
+        Files.deleteIfExists(Paths.get(dataDir, "tasks.bin"));
+    }
+
+    /**
+     * Tests if notes are saved incrementally, compacted and read back unchanged.
+     */
+    @Test
+    public void testCommitNotes_notesChanged_readBackUnchanged() throws Exception {
+        Files.deleteIfExists(Paths.get(dataDir, "notes.txt"));
+
+        Storage notesStorage = new Storage();
+        Notes notes = new Notes();
+        notesStorage.loadNotes(notes);
+
+        notes.add("read book");
+        notesStorage.journalNote(CommandType.NOTE, "read book");
+        notesStorage.commitNotes(notes);
+        notes.add("lunch /content scrap metal");
+        notesStorage.journalNote(CommandType.NOTE, "lunch /content scrap metal");
+        notes.delete("1");
+        notesStorage.journalNote(CommandType.DELETENOTE, "1");
+        notesStorage.commitNotes(notes);
+        notesStorage.flush();
+
+        // each change is appended rather than rewriting the file
+        assertEquals(3, Files.readAllLines(Paths.get(dataDir, "notes.txt")).size());
+
+        for (int i = 0; i < 100; i++) {
+            notes.add("note " + i);
+            notesStorage.journalNote(CommandType.NOTE, "note " + i);
+            notes.delete("2");
+            notesStorage.journalNote(CommandType.DELETENOTE, "2");
+            notesStorage.commitNotes(notes);
+        }
+        notesStorage.flush();
+
+        // redundant entries are compacted away
+        assertEquals(true, Files.readAllLines(Paths.get(dataDir, "notes.txt")).size() < 100);
+
+        Notes readNotes = new Notes();
+        new Storage().loadNotes(readNotes);
+        assertEquals(notes.toString(), readNotes.toString());
+        assertEquals(1, readNotes.getNotesSize());
+    }
+
+    /**
+     * Tests if tasks changed since the last snapshot are replayed from the journal, which is then
+     * compacted into the snapshot.
+     */
+    @Test
+    public void testJournal_tasksChanged_replayedAndCompacted() throws Exception {
+        Workspace workspace = new Workspace(TEST_WORKSPACE, new Ui(), new Metrics(), null);
+        workspace.load();
+        workspace.getResponse(CommandType.TODO, "read book");
+        workspace.getResponse(CommandType.DEADLINE, "return book /by 05-03-2024 0930");
+        workspace.getResponse(CommandType.TODO, "buy milk");
+        workspace.getResponse(CommandType.MARK, "2");
+        workspace.getResponse(CommandType.DELETETASK, "3");
+        workspace.getStorage().close();
+
+        // changes are only appended to the journal, not snapshotted
+        Path journalPath = TEST_DIR.resolve("tasks.txt.journal");
+        assertEquals(5, Files.readAllLines(journalPath).size());
+        assertEquals(0, Files.readAllLines(TEST_DIR.resolve("tasks.txt")).size());
+
+        Workspace readWorkspace = new Workspace(TEST_WORKSPACE, new Ui(), new Metrics(), null);
+        readWorkspace.load();
+        readWorkspace.getStorage().close();
+        assertEquals(workspace.getTaskList().getTasks(), readWorkspace.getTaskList().getTasks());
+        assertEquals(workspace.getTaskList().toFileString(), readWorkspace.getTaskList().toFileString());
+
+        // loading compacts the journal into the snapshot
+        assertEquals(false, Files.exists(journalPath));
+        assertEquals(List.of(workspace.getTaskList().toFileString().split("\n")),
+                Files.readAllLines(TEST_DIR.resolve("tasks.txt")));
+    }
+
+    /**
+     * Tests if a journal that grows past its size threshold is compacted into a snapshot without losing tasks.
+     */
+    @Test
+    public void testCommit_journalFull_compactedIntoSnapshot() throws Exception {
+        Workspace workspace = new Workspace(TEST_WORKSPACE, new Ui(), new Metrics(), null);
+        workspace.load();
+        for (int i = 0; i < 2000; i++) {
+            workspace.getResponse(CommandType.TODO, String.format("read chapter %04d of a rather long book", i));
+        }
+        workspace.getStorage().close();
+
+        List<String> snapshot = Files.readAllLines(TEST_DIR.resolve("tasks.txt"));
+        List<String> journal = Files.readAllLines(TEST_DIR.resolve("tasks.txt.journal"));
+        assertEquals(true, snapshot.size() > 0);
+        assertEquals(2000, snapshot.size() + journal.size());
+        assertEquals("[T][ ] read chapter 0000 of a rather long book", snapshot.get(0));
+
+        Workspace readWorkspace = new Workspace(TEST_WORKSPACE, new Ui(), new Metrics(), null);
+        readWorkspace.load();
+        readWorkspace.getStorage().close();
+        assertEquals(workspace.getTaskList().getTasks(), readWorkspace.getTaskList().getTasks());
+    }
+
+    /**
+     * Tests if lines that cross the end of the read buffer, or are longer than it, are read whole.
+     */
+    @Test
+    public void testReadTaskData_lineCrossesBuffer_readWhole() throws Exception {
+        String first = "a".repeat(READ_BUFFER_SIZE - 5);
+        String second = "crosses the buffer";
+        String third = "b".repeat(READ_BUFFER_SIZE * 2);
+        String data = first + "\n" + second + "\n" + third + "\n" + "last\n";
+
+        assertEquals(List.of(first, second, third, "last"),
+                readTaskData(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tests if a multibyte UTF-8 character split across the end of the read buffer is decoded.
+     */
+    @Test
+    public void testReadTaskData_characterSplitAcrossBuffer_decoded() throws Exception {
+        // the 3 bytes of the euro sign start 1 byte before the end of the buffer
+        String first = "a".repeat(READ_BUFFER_SIZE - 2);
+        String second = "\u20ac price \u00e9t\u00e9";
+        String data = first + "\n" + second + "\n";
+
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        assertEquals((byte) 0xe2, bytes[READ_BUFFER_SIZE - 1]);
+        assertEquals(List.of(first, second), readTaskData(bytes));
+    }
+
+    /**
+     * Tests if carriage returns before newlines are dropped.
+     */
+    @Test
+    public void testReadTaskData_crlfLineEndings_carriageReturnsDropped() throws Exception {
+        assertEquals(List.of("[T][ ] read book", "", "[T][X] buy milk"),
+                readTaskData("[T][ ] read book\r\n\r\n[T][X] buy milk\r\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tests if the last line is read when the file does not end with a newline.
+     */
+    @Test
+    public void testReadTaskData_noFinalNewline_lastLineRead() throws Exception {
+        assertEquals(List.of("first", "second", "third", "fourth"),
+                readTaskData("first\nsecond\nthird\nfourth".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tests if an empty file has no lines.
+     */
+    @Test
+    public void testReadTaskData_emptyFile_noLines() throws Exception {
+        assertEquals(List.of(), readTaskData(new byte[0]));
+    }
+
+    /**
+     * Tests if commits made while a write is waiting to run are written together, as the latest task list.
+     */
+    @Test
+    public void testCommit_severalCommits_coalescedIntoOneWrite() throws Exception {
+        AtomicInteger writes = new AtomicInteger();
+        Storage writerStorage = new Storage(false, TEST_DIR.toString());
+        writerStorage.hasSavedData();
+        writerStorage.setMetrics(countWrites(writes));
+        TaskList taskList = new TaskList();
+
+        // the writer cannot collect changes while the storage is locked, so every commit waits for one write
+        synchronized (writerStorage) {
+            for (int i = 0; i < 5; i++) {
+                taskList.addTask(CommandType.TODO, "read book " + i);
+                writerStorage.commit(taskList);
+            }
+        }
+        writerStorage.flush();
+
+        assertEquals(1, writes.get());
+        assertEquals(List.of(taskList.toFileString().split("\\n")),
+                Files.readAllLines(TEST_DIR.resolve("tasks.txt")));
+        writerStorage.close();
+    }
+
+    /**
+     * Tests if flush returns only once committed changes are on disk, replaced without leaving temporary files.
+     */
+    @Test
+    public void testFlush_changesCommitted_fileMatchesAfterFlush() throws Exception {
+        Storage writerStorage = new Storage(false, TEST_DIR.toString());
+        writerStorage.hasSavedData();
+        TaskList taskList = new TaskList();
+
+        for (int i = 0; i < 50; i++) {
+            taskList.addTask(CommandType.TODO, "read book " + i);
+            writerStorage.commit(taskList);
+            writerStorage.flush();
+
+            assertEquals(taskList.toFileString(),
+                    String.join("\n", Files.readAllLines(TEST_DIR.resolve("tasks.txt"))));
+        }
+        writerStorage.close();
+
+        try (Stream<Path> paths = Files.list(TEST_DIR)) {
+            assertEquals(List.of(TEST_DIR.resolve("tasks.txt")), paths.toList());
+        }
+    }
+
+    /**
+     * Tests if changes committed after the storage is closed are not written.
+     */
+    @Test
+    public void testCommit_storageClosed_notWritten() throws Exception {
+        AtomicInteger writes = new AtomicInteger();
+        Storage writerStorage = new Storage(false, TEST_DIR.toString());
+        writerStorage.hasSavedData();
+        writerStorage.setMetrics(countWrites(writes));
+        TaskList taskList = new TaskList();
+
+        taskList.addTask(CommandType.TODO, "read book");
+        writerStorage.commit(taskList);
+        writerStorage.close();
+        assertEquals(1, writes.get());
+
+        taskList.addTask(CommandType.TODO, "buy milk");
+        writerStorage.commit(taskList);
+        writerStorage.flush();
+
+        assertEquals(1, writes.get());
+        assertEquals(List.of("[T][ ] read book"), Files.readAllLines(TEST_DIR.resolve("tasks.txt")));
+    }
+
+    /**
+     * Tests if binary snapshots are decoded from streams that cannot tell how many bytes remain,
+     * and if a truncated snapshot yields the tasks before the cut.
+     */
+    @Test
+    public void testDecode_streamWithoutAvailableBytes_tasksDecoded() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.addTask(CommandType.DEADLINE, "return book /by 05-03-2024 0930");
+        byte[] snapshot = BinarySnapshot.encode(taskList.getTasks());
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        DataInputStream in = new DataInputStream(new UnknownLengthInputStream(snapshot));
+        assertEquals(2, BinarySnapshot.decode(in, tasks::add));
+        assertEquals(taskList.getTasks(), tasks);
+
+        tasks.clear();
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 4);
+        in = new DataInputStream(new UnknownLengthInputStream(truncated));
+        assertEquals(2, BinarySnapshot.decode(in, tasks::add));
+        assertEquals(List.of(taskList.getTasks().get(0)), tasks);
+    }
+
+    /**
+     * Represents a stream that, like a pipe or socket, never reports bytes as available.
+     */
+    private static class UnknownLengthInputStream extends InputStream {
+        private final InputStream in;
+
+        UnknownLengthInputStream(byte[] bytes) {
+            in = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return in.read();
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,323 @@
+package bibo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bibo.Command.CommandType;
+import bibo.exceptions.BiboException;
+import bibo.exceptions.ListIndexException;
+import bibo.exceptions.TaskFormatException;
+import bibo.task.Deadline;
+import bibo.task.Event;
+import bibo.task.Task;
+import bibo.task.TaskList;
+import bibo.task.Todo;
+
+/**
+ * Represents a test class for TaskList.
+ */
+public class TestTaskList {
+    private TaskList taskList;
+
+    @BeforeAll
+    public static void setupClass() {
+        System.out.println("Starting TaskList tests.");
+    }
+
+    /**
+     * Creates an empty task list before each test.
+     */
+    @BeforeEach
+    public void setup() {
+        System.out.println("Starting next test.");
+        taskList = new TaskList();
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        System.out.println("All tests completed.");
+    }
+
+    /**
+     * Tests if equal tasks have equal hash codes.
+     */
+    @Test
+    public void testHashCode_equalTasks_equalHashCodes() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 2, 12, 0);
+
+        Task todo = new Todo("read book");
+        Task doneTodo = new Todo("read book").withStatus(true);
+        assertEquals(todo, doneTodo);
+        assertEquals(todo.hashCode(), doneTodo.hashCode());
+
+        assertEquals(new Deadline("return book", start), new Deadline("return book", start));
+        assertEquals(new Deadline("return book", start).hashCode(),
+                new Deadline("return book", start).hashCode());
+        assertNotEquals(new Deadline("return book", start), new Deadline("return book", end));
+
+        assertEquals(new Event("meeting", start, end).hashCode(),
+                new Event("meeting", start, end).hashCode());
+        assertNotEquals(new Event("meeting", start, end), new Event("meeting", start, start));
+
+        // tasks of different types are never equal
+        assertNotEquals(new Todo("return book"), new Deadline("return book", start));
+        assertNotEquals(new Deadline("return book", start), new Todo("return book"));
+    }
+
+    /**
+     * Tests if exception is thrown when a duplicate task is added.
+     */
+    @Test
+    public void testAddTask_duplicateTask_exceptionThrown() throws BiboException {
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.addTask(CommandType.DEADLINE, "read book /by 01-01-2024 1200");
+
+        assertThrows(TaskFormatException.class, () -> {
+            taskList.addTask(CommandType.TODO, "read book");
+        }, TaskFormatException.ErrorType.DUPLICATE_TASK.toString());
+
+        assertThrows(TaskFormatException.class, () -> {
+            taskList.addTask(CommandType.DEADLINE, "read book /by 01-01-2024 1200");
+        }, TaskFormatException.ErrorType.DUPLICATE_TASK.toString());
+
+        assertEquals(2, taskList.getTaskListSize());
+    }
+
+    /**
+     * Tests if a deleted task can be added again.
+     */
+    @Test
+    public void testAddTask_afterDelete_taskAdded() throws BiboException {
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.changeTaskStatus(CommandType.DELETETASK, "1");
+        taskList.addTask(CommandType.TODO, "read book");
+
+        assertEquals(1, taskList.getTaskListSize());
+    }
+
+    /**
+     * Tests if tasks are numbered by position when listed and found.
+     */
+    @Test
+    public void testToString_multipleTasks_numberedByPosition() throws BiboException {
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.addTask(CommandType.TODO, "buy milk");
+        taskList.addTask(CommandType.TODO, "return book");
+
+        assertEquals("1. [T][ ] read book\n2. [T][ ] buy milk\n3. [T][ ] return book", taskList.toString());
+        assertEquals("3. [T][ ] return book", taskList.findTasks("return").get(0));
+    }
+
+    /**
+     * Tests if find supports AND, OR and prefix queries with positions kept after deletes.
+     */
+    @Test
+    public void testFindTasks_queries_matchingTasksFound() throws BiboException {
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.addTask(CommandType.TODO, "buy milk");
+        taskList.addTask(CommandType.TODO, "return Book to library");
+        taskList.addTask(CommandType.TODO, "buy notebooks");
+
+        assertEquals(2, taskList.findTasks("book").size());
+        assertEquals(1, taskList.findTasks("book library").size());
+        assertEquals(3, taskList.findTasks("book or milk").size());
+        assertEquals(4, taskList.findTasks("b*").size());
+        assertEquals(0, taskList.findTasks("ook").size());
+
+        taskList.changeTaskStatus(CommandType.DELETETASK, "1");
+        assertEquals("2. [T][ ] return Book to library", taskList.findTasks("book").get(0));
+        assertEquals("3. [T][ ] buy notebooks", taskList.findTasks("note*").get(0));
+    }
+
+    /**
+     * Tests if task list version changes only when tasks change.
+     */
+    @Test
+    public void testGetVersion_mutations_versionChanged() throws BiboException {
+        long version = taskList.getVersion();
+
+        taskList.addTask(CommandType.TODO, "read book");
+        assertNotEquals(version, taskList.getVersion());
+        version = taskList.getVersion();
+
+        taskList.toString();
+        taskList.findTasks("book");
+        assertThrows(TaskFormatException.class, () -> taskList.addTask(CommandType.TODO, "read book"));
+        assertEquals(version, taskList.getVersion());
+
+        taskList.changeTaskStatus(CommandType.MARK, "1");
+        assertNotEquals(version, taskList.getVersion());
+    }
+
+    /**
+     * Tests if only the requested page is listed, with a prompt for the next page.
+     */
+    @Test
+    public void testToString_page_pageListed() throws BiboException {
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.addTask(CommandType.TODO, "buy milk");
+        taskList.addTask(CommandType.TODO, "return book");
+
+        String firstPage = taskList.toString(1, 2);
+        assertEquals("1. [T][ ] read book\n2. [T][ ] buy milk\n\nShowing 1-2 of 3.\n"
+                + "Enter \"list 2 --page-size 2\" to see more.", firstPage);
+        assertEquals("list 2 --page-size 2", taskList.getPage(1, 2).getNextPageCommand());
+
+        String lastPage = taskList.toString(2, 2);
+        assertEquals("3. [T][ ] return book\n\nShowing 3-3 of 3.", lastPage);
+        assertEquals(null, taskList.getPage(2, 2).getNextPageCommand());
+
+        assertThrows(ListIndexException.class, () -> taskList.toString(3, 2));
+    }
+
+    /**
+     * Tests if date range queries find matching deadlines and events in date order.
+     */
+    @Test
+    public void testFindByDate_ranges_matchingTasksFound() throws BiboException {
+        taskList.addTask(CommandType.EVENT, "camp /from 01-01-2024 0900 /to 05-01-2024 1800");
+        taskList.addTask(CommandType.DEADLINE, "essay /by 03-01-2024 2359");
+        taskList.addTask(CommandType.TODO, "read book");
+        taskList.addTask(CommandType.EVENT, "talk /from 04-01-2024 1000 /to 04-01-2024 1200");
+        taskList.addTask(CommandType.DEADLINE, "report /by 01-01-2024 1200");
+
+        assertEquals(2, taskList.findDue("03-01-2024 2359").size());
+        assertEquals("5. [D][ ] report (by: 01 Jan 2024 12:00 PM)", taskList.findDue("03-01-2024 2359").get(0));
+
+        List<String> between = taskList.findBetween("01-01-2024 1000 /to 04-01-2024 1000");
+        assertEquals(3, between.size());
+        assertEquals("5. [D][ ] report (by: 01 Jan 2024 12:00 PM)", between.get(0));
+        assertEquals("4. [E][ ] talk (from: 04 Jan 2024 10:00 AM to: 04 Jan 2024 12:00 PM)", between.get(2));
+
+        assertEquals(2, taskList.findOverlapping("04-01-2024 1100 /to 10-01-2024 0000").size());
+        assertEquals(1, taskList.findOverlapping("02-01-2024 0000 /to 02-01-2024 2359").size());
+
+        taskList.changeTaskStatus(CommandType.DELETETASK, "1");
+        assertEquals(0, taskList.findOverlapping("02-01-2024 0000 /to 02-01-2024 2359").size());
+        assertEquals("4. [D][ ] report (by: 01 Jan 2024 12:00 PM)", taskList.findDue("01-01-2024 1200").get(0));
+
+        assertThrows(TaskFormatException.class, () -> taskList.findBetween("04-01-2024 1000"));
+        assertThrows(TaskFormatException.class, () -> taskList.findDue("tomorrow"));
+        assertThrows(TaskFormatException.class, () -> taskList.findOverlapping("02-01-2024 0000 /to 01-01-2024 0000"));
+    }
+
+    /**
+     * Tests if agenda lists the next tasks that are not done and follows marks and deletes.
+     */
+    @Test
+    public void testFindUpcoming_mixedTasks_nextPendingTasksFound() throws BiboException {
+        taskList.addTask(CommandType.DEADLINE, "essay /by 03-01-2024 2359");
+        taskList.addTask(CommandType.EVENT, "camp /from 01-01-2024 0900 /to 05-01-2024 1800");
+        taskList.addTask(CommandType.DEADLINE, "report /by 01-01-2024 1200");
+        taskList.addTask(CommandType.DEADLINE, "quiz /by 10-01-2024 0900");
+        taskList.addTask(CommandType.TODO, "read book");
+
+        List<String> upcoming = taskList.findUpcoming("/from 02-01-2024 0000");
+        assertEquals(3, upcoming.size());
+        assertEquals("2. [E][ ] camp (from: 01 Jan 2024 09:00 AM to: 05 Jan 2024 06:00 PM)", upcoming.get(0));
+        assertEquals("1. [D][ ] essay (by: 03 Jan 2024 11:59 PM)", upcoming.get(1));
+
+        assertEquals(1, taskList.findUpcoming("1 /from 02-01-2024 0000").size());
+
+        taskList.changeTaskStatus(CommandType.MARK, "2");
+        taskList.changeTaskStatus(CommandType.DELETETASK, "1");
+        assertEquals("3. [D][ ] quiz (by: 10 Jan 2024 09:00 AM)",
+                taskList.findUpcoming("/from 02-01-2024 0000").get(0));
+
+        taskList.changeTaskStatus(CommandType.UNMARK, "1");
+        assertEquals(2, taskList.findUpcoming("/from 02-01-2024 0000").size());
+
+        assertThrows(ListIndexException.class, () -> taskList.findUpcoming("0"));
+    }
+
+    /**
+     * Tests if the next due time skips tasks that are done and tasks already due.
+     */
+    @Test
+    public void testGetNextDueTime_pendingTasks_earliestTimeFound() throws BiboException {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 2, 0, 0);
+        assertEquals(null, taskList.getNextDueTime(now));
+
+        taskList.addTask(CommandType.DEADLINE, "report /by 01-01-2024 1200");
+        taskList.addTask(CommandType.DEADLINE, "essay /by 03-01-2024 2359");
+        taskList.addTask(CommandType.EVENT, "talk /from 03-01-2024 1000 /to 03-01-2024 1200");
+        assertEquals(LocalDateTime.of(2024, 1, 3, 10, 0), taskList.getNextDueTime(now));
+
+        taskList.changeTaskStatus(CommandType.MARK, "3");
+        assertEquals(LocalDateTime.of(2024, 1, 3, 23, 59), taskList.getNextDueTime(now));
+        assertEquals(1, taskList.findDueTasks(now, LocalDateTime.of(2024, 1, 4, 0, 0)).size());
+        assertEquals(0, taskList.findDueTasks(LocalDateTime.of(2024, 1, 3, 23, 59), LocalDateTime.MAX).size());
+    }
+
+    /**
+     * Tests if ranges, lists and done tasks are changed as one batch, keeping indices in sync.
+     */
+    @Test
+    public void testChangeTaskStatus_bulkSelections_tasksChanged() throws BiboException {
+        for (int i = 1; i <= 10; i++) {
+            taskList.addTask(CommandType.TODO, "task " + i);
+        }
+        long version = taskList.getVersion();
+
+        assertEquals(4, taskList.changeTaskStatus(CommandType.MARK, "2-4, 8").size());
+        assertEquals(3, taskList.changeTaskStatus(CommandType.DELETETASK, "1,3,5").size());
+        assertEquals(version + 5, taskList.getVersion());
+        assertEquals("1. [T][X] task 2\n2. [T][X] task 4\n3. [T][ ] task 6\n4. [T][ ] task 7\n"
+                + "5. [T][X] task 8\n6. [T][ ] task 9\n7. [T][ ] task 10", taskList.toString());
+
+        assertEquals(3, taskList.changeTaskStatus(CommandType.DELETETASK, "--done").size());
+        assertEquals("3. [T][ ] task 9", taskList.findTasks("9").get(0));
+        assertEquals(0, taskList.changeTaskStatus(CommandType.DELETETASK, "--done").size());
+
+        assertThrows(ListIndexException.class, () -> taskList.changeTaskStatus(CommandType.MARK, "1-5"));
+        assertThrows(ListIndexException.class, () -> taskList.changeTaskStatus(CommandType.MARK, "3-1"));
+        assertThrows(ListIndexException.class, () -> taskList.changeTaskStatus(CommandType.MARK, "1,x"));
+        assertEquals(4, taskList.getTaskListSize());
+    }
+
+    /**
+     * Tests if snapshots of the task list are unaffected by later changes, while the task list and its
+     * indexes see them.
+     * Test cases: mark, unmark, delete, add, more tasks than fit in one block of the snapshot.
+     */
+    @Test
+    public void testGetTasks_laterChanges_snapshotUnchanged() throws BiboException {
+        for (int i = 1; i <= 100; i++) {
+            taskList.addTask(CommandType.DEADLINE,
+                    String.format("task %d /by 01-01-2030 %02d%02d", i, 10 + i / 60, i % 60));
+        }
+        List<Task> snapshot = taskList.getTasks();
+        String saved = TaskList.toFileString(snapshot);
+
+        List<Task> marked = taskList.changeTaskStatus(CommandType.MARK, "1-40,70");
+        assertTrue(marked.get(0).isDone());
+        taskList.changeTaskStatus(CommandType.UNMARK, "2");
+        taskList.changeTaskStatus(CommandType.DELETETASK, "3-5,99");
+        taskList.addTask(CommandType.TODO, "task 101");
+
+        assertEquals(saved, TaskList.toFileString(snapshot));
+        assertEquals(100, snapshot.size());
+        assertEquals(97, taskList.getTaskListSize());
+        assertEquals("[D][X] task 1 (by: 01 Jan 2030 10:01 AM)", taskList.getTasks().get(0).toString());
+        assertEquals("[D][ ] task 2 (by: 01 Jan 2030 10:02 AM)", taskList.getTasks().get(1).toString());
+        assertEquals("[T][ ] task 101", taskList.getTasks().get(96).toString());
+        assertEquals("3. [D][X] task 6 (by: 01 Jan 2030 10:06 AM)", taskList.findTasks("6").get(0));
+        assertEquals("1. [D][X] task 1 (by: 01 Jan 2030 10:01 AM)", taskList.findDue("01-01-2030 1001").get(0));
+        assertTrue(taskList.getTask(snapshot.get(0)).isDone());
+        assertFalse(snapshot.get(0).isDone());
+        assertEquals(LocalDateTime.of(2030, 1, 1, 10, 2),
+                taskList.getNextDueTime(LocalDateTime.of(2029, 1, 1, 0, 0)));
+    }
+}
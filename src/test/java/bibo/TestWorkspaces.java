@@ -0,0 +1,95 @@
+package bibo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import bibo.Command.CommandType;
+import bibo.exceptions.BiboException;
+import bibo.exceptions.WorkspaceException;
+import bibo.utils.Metrics;
+
+/**
+ * Represents a test class for Workspaces.
+ */
+public class TestWorkspaces {
+    private static final List<String> NAMES = List.of("test-ws-a", "test-ws-b", "test-ws-c");
+
+    @BeforeAll
+    public static void setupClass() {
+        System.out.println("Starting Workspaces tests.");
+    }
+
+    @BeforeEach
+    public void setup() throws IOException {
+        System.out.println("Starting next test.");
+        deleteData();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        deleteData();
+    }
+
+    @AfterAll
+    public static void tearDownClass() {
+        System.out.println("All tests completed.");
+    }
+
+    private static void deleteData() throws IOException {
+        for (String name : NAMES) {
+            Path dir = Path.of("data" + File.separator + name);
+            if (!Files.exists(dir)) {
+                continue;
+            }
+
+            try (Stream<Path> paths = Files.walk(dir)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if tasks added to one workspace are kept out of others, and are still there after it is unloaded.
+     */
+    @Test
+    public void testUse_evictedWorkspace_tasksReloaded() throws BiboException {
+        Workspaces workspaces = new Workspaces(new Ui(), new Metrics(), 2);
+
+        workspaces.use(NAMES.get(0)).getResponse(CommandType.TODO, "read book");
+        assertEquals(0, workspaces.use(NAMES.get(1)).getTaskList().getTasks().size());
+        workspaces.use(NAMES.get(2));
+        assertEquals(List.of(NAMES.get(1), NAMES.get(2)), workspaces.getLoadedNames());
+
+        Workspace workspace = workspaces.use(NAMES.get(0));
+        assertEquals(1, workspace.getTaskList().getTasks().size());
+        assertEquals("[T][ ] read book", workspace.getTaskList().getTasks().get(0).toString());
+        workspace.getStorage().close();
+    }
+
+    /**
+     * Tests if names with characters other than letters, digits, - and _ are rejected.
+     */
+    @Test
+    public void testUse_invalidName_exceptionThrown() {
+        Workspaces workspaces = new Workspaces(new Ui(), new Metrics(), 2);
+
+        assertThrows(WorkspaceException.class, () -> workspaces.use("../escape"));
+        assertThrows(WorkspaceException.class, () -> workspaces.use(""));
+    }
+}